@@ -0,0 +1,40 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import ru.yandex.practicum.kanban.model.Epic;
+import ru.yandex.practicum.kanban.model.Subtask;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Board of a given size: half Tasks, half Subtasks in Epics of SUBTASKS_PER_EPIC, none of them overlap
+final class Boards {
+    static final int SUBTASKS_PER_EPIC = 10;
+    static final Duration DURATION = Duration.ofMinutes(30);
+    static final LocalDateTime START_DATE_TIME = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private Boards() {
+    }
+
+    // Returns the start of the first free slot after the board
+    static LocalDateTime fill(TaskManager taskManager, int size) {
+        LocalDateTime startDateTime = START_DATE_TIME;
+        Integer epicID = null;
+
+        for (int i = 0; i < size; ++i) {
+            if (i % 2 == 0) {
+                taskManager.createTask(new Task("Task" + i, "Benchmark task", startDateTime, DURATION));
+            } else {
+                if (i / 2 % SUBTASKS_PER_EPIC == 0) {
+                    epicID = taskManager.createEpic(new Epic("Epic" + i, "Benchmark epic"));
+                }
+                Subtask subtask = new Subtask("Subtask" + i, "Benchmark subtask", startDateTime, DURATION);
+                subtask.setEpicID(epicID);
+                taskManager.createSubtask(subtask);
+            }
+            startDateTime = startDateTime.plus(DURATION);
+        }
+        return startDateTime;
+    }
+}
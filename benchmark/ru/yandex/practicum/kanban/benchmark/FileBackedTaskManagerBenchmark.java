@@ -0,0 +1,55 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.yandex.practicum.kanban.service.impl.FileBackedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.PersistenceMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Full save and load of a board of boardSize tasks and subtasks. Run from the project directory,
+ * the file is written to "resources" like the application data.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class FileBackedTaskManagerBenchmark {
+    private static final String FILE_NAME = "benchmark-data.csv";
+
+    @Param({"1000", "100000", "1000000"})
+    private int boardSize;
+
+    private FileBackedTaskManager taskManager;
+
+    @Setup
+    public void setup() {
+        // Changes are not written while the board is filled, compact() then writes the file once
+        taskManager = new FileBackedTaskManager(FILE_NAME, PersistenceMode.WRITE_BEHIND,
+                Duration.ofDays(1), Integer.MAX_VALUE);
+        Boards.fill(taskManager, boardSize);
+        taskManager.compact();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        taskManager.close();
+        Files.deleteIfExists(taskManager.getFilePath());
+    }
+
+    @Benchmark
+    public void save() {
+        taskManager.compact();
+    }
+
+    @Benchmark
+    public FileBackedTaskManager loadFromFile() {
+        return FileBackedTaskManager.loadFromFile(FILE_NAME);
+    }
+}
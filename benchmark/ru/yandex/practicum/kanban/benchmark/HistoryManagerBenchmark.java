@@ -0,0 +1,71 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.Managers;
+import ru.yandex.practicum.kanban.service.api.HistoryManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryHistoryManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compares the array-backed InMemoryHistoryManager and the history the managers use, Managers.getDefaultHistory(),
+ * with the former linked list implementation. The default history is measured outside an HTTP session,
+ * so every call goes to the same partition.
+ * Run with "-prof gc" to see the allocation rate (gc.alloc.rate.norm is bytes per operation).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistoryManagerBenchmark {
+    @Param({"legacy", "array", "default"})
+    private String implementation;
+
+    @Param({"100", "10000"})
+    private int historySize;
+
+    private HistoryManager historyManager;
+    private Task[] tasks;
+    private int nextTaskIndex = 0;
+
+    @Setup
+    public void setup() {
+        historyManager = switch (implementation) {
+            case "legacy" -> new LegacyHistoryManager();
+            case "array" -> new InMemoryHistoryManager();
+            default -> Managers.getDefaultHistory();
+        };
+        tasks = new Task[historySize];
+        LocalDateTime startDateTime = LocalDateTime.now();
+
+        for (int id = 0; id < historySize; ++id) {
+            tasks[id] = new Task("Task" + id, "History benchmark", startDateTime, Duration.ofMinutes(30));
+            tasks[id].setId(id);
+            historyManager.add(tasks[id]);
+        }
+    }
+
+    // Every view moves an already viewed task to the end, as GET /tasks/{id} does on a warm server
+    @Benchmark
+    public void add() {
+        historyManager.add(tasks[nextTaskIndex]);
+        nextTaskIndex = nextTaskIndex + 1 == historySize ? 0 : nextTaskIndex + 1;
+    }
+
+    @Benchmark
+    public void getHistory(Blackhole blackhole) {
+        blackhole.consume(historyManager.getHistory());
+    }
+
+    @Benchmark
+    public void getHistoryLimit10(Blackhole blackhole) {
+        blackhole.consume(historyManager.getHistory(10));
+    }
+}
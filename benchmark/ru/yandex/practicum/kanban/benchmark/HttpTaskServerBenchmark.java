@@ -0,0 +1,98 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentTaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.SynchronizedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * GET /tasks served to 1, 4 and 16 clients at once, each with its own HttpClient.
+ * "synchronized" is the file-backed server configuration without the file, "concurrent" is the "--in-memory" one.
+ * The throughput of a server that scales grows with the number of clients.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class HttpTaskServerBenchmark {
+    private static final HttpRequest GET_TASKS = HttpRequest.newBuilder()
+            .GET()
+            .uri(URI.create(HttpTaskServer.URL + "tasks"))
+            .build();
+
+    @Param({"synchronized", "concurrent"})
+    private String implementation;
+
+    @Param({"100", "10000"})
+    private int boardSize;
+
+    private HttpTaskServer taskServer;
+
+    @State(Scope.Thread)
+    public static class Client {
+        private HttpClient httpClient;
+
+        @Setup
+        public void setup() {
+            httpClient = HttpClient.newHttpClient();
+        }
+
+        @TearDown
+        public void tearDown() {
+            httpClient.close();
+        }
+    }
+
+    @Setup
+    public void setup() throws IOException {
+        TaskManager taskManager = implementation.equals("synchronized")
+                ? new SynchronizedTaskManager(new InMemoryTaskManager())
+                : new ConcurrentTaskManager();
+        Boards.fill(taskManager, boardSize);
+        taskServer = new HttpTaskServer(taskManager);
+        taskServer.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        taskServer.stop();
+    }
+
+    private static int getTasks(Client client) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.httpClient.send(GET_TASKS, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != HttpTaskServer.OK_200) {
+            throw new IllegalStateException("GET /tasks answered " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public int getTasks1Client(Client client) throws IOException, InterruptedException {
+        return getTasks(client);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int getTasks4Clients(Client client) throws IOException, InterruptedException {
+        return getTasks(client);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public int getTasks16Clients(Client client) throws IOException, InterruptedException {
+        return getTasks(client);
+    }
+}
@@ -0,0 +1,74 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.DurationAdapter;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+import ru.yandex.practicum.kanban.service.impl.httpserver.LocalDateTimeAdapter;
+
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * JSON of a list of listSize Tasks, Epics and Subtasks, as sent by the list endpoints.
+ * "reflective" is the former configuration, "adapters" is HttpTaskServer.getGson() with the model type adapters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g"})
+public class JsonBenchmark {
+    private static final Type TASK_LIST_TYPE = TypeToken.getParameterized(List.class, Task.class).getType();
+
+    @Param({"reflective", "adapters"})
+    private String codec;
+
+    @Param({"100000"})
+    private int listSize;
+
+    private Gson gson;
+    private List<Task> tasks;
+    private String tasksJson;
+
+    @Setup
+    public void setup() {
+        gson = codec.equals("reflective") ? new GsonBuilder()
+                .serializeNulls()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+                .registerTypeAdapter(Duration.class, new DurationAdapter())
+                .create()
+                : HttpTaskServer.getGson();
+
+        TaskManager taskManager = new InMemoryTaskManager();
+        Boards.fill(taskManager, listSize);
+        tasks = new ArrayList<>(taskManager.getAllTasks());
+        tasks.addAll(taskManager.getAllEpic());
+        tasks.addAll(taskManager.getAllSubtasks());
+        tasksJson = gson.toJson(tasks);
+    }
+
+    // Written to a null Writer, so only serialization is measured
+    @Benchmark
+    public void write() {
+        gson.toJson(tasks, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) {
+        blackhole.consume(gson.fromJson(tasksJson, TASK_LIST_TYPE));
+    }
+}
@@ -0,0 +1,83 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.HistoryManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Linked list history replaced by the array-backed InMemoryHistoryManager, kept as the benchmark baseline
+public class LegacyHistoryManager implements HistoryManager {
+    private final Map<Integer, Node> taskIdToNode = new HashMap<>();
+    private Node head = null;
+    private Node tail = null;
+
+    private static class Node {
+        private Task task;
+        private Node prev;
+        private Node next;
+
+        private Node(Node prev, Task task, Node next) {
+            this.prev = prev;
+            this.task = task;
+            this.next = next;
+        }
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task == null) {
+            return;
+        }
+        remove(task.getId());
+
+        Node node = new Node(tail, new Task(task), null);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.next = node;
+        }
+        tail = node;
+        taskIdToNode.put(task.getId(), node);
+    }
+
+    @Override
+    public void remove(int id) {
+        Node node = taskIdToNode.remove(id);
+        if (node == null) {
+            return;
+        }
+
+        if (node.prev == null) {
+            head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next == null) {
+            tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+        node.task = null;
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        if (head == null) {
+            return null;
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (Node node = head; node != null; node = node.next) {
+            tasks.add(node.task);
+        }
+        return tasks;
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        List<Task> history = getHistory();
+        return history == null ? null : history.subList(Math.max(history.size() - limit, 0), history.size());
+    }
+}
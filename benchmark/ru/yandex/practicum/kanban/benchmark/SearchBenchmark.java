@@ -0,0 +1,82 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import ru.yandex.practicum.kanban.model.SearchIndex;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Search on a board of boardSize items, where every name is a unique word and every description
+ * has the common word "benchmark". Run with "-prof gc": gc.alloc.rate.norm of buildIndex is the memory
+ * allocated for the index of the whole board, an upper bound of the memory it keeps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class SearchBenchmark {
+    private static final int LIMIT = 100;
+
+    @Param({"100000", "1000000"})
+    private int boardSize;
+
+    private TaskManager taskManager;
+    private List<Task> items;
+    private String wordQuery;
+    private String prefixQuery;
+    private String rareAndCommonWordsQuery;
+
+    @Setup
+    public void setup() {
+        taskManager = new InMemoryTaskManager();
+        Boards.fill(taskManager, boardSize);
+        items = new ArrayList<>(taskManager.getAllTasks());
+        items.addAll(taskManager.getAllSubtasks());
+        items.addAll(taskManager.getAllEpic());
+
+        int middle = boardSize / 2 / 2 * 2; // Tasks have even numbers
+        wordQuery = "task" + middle;
+        prefixQuery = "task" + middle / 10;
+        rareAndCommonWordsQuery = "benchmark subtask" + (middle + 1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public SearchIndex buildIndex() {
+        SearchIndex searchIndex = new SearchIndex();
+        items.forEach(searchIndex::add);
+        return searchIndex;
+    }
+
+    @Benchmark
+    public List<Integer> searchWord() {
+        return taskManager.search(wordQuery, LIMIT);
+    }
+
+    // About ten names start with the prefix
+    @Benchmark
+    public List<Integer> searchPrefix() {
+        return taskManager.search(prefixQuery, LIMIT);
+    }
+
+    // The rare word narrows the candidates, then they are checked for the word every item has
+    @Benchmark
+    public List<Integer> searchRareAndCommonWords() {
+        return taskManager.search(rareAndCommonWordsQuery, LIMIT);
+    }
+
+    // Every Epic matches, only the best LIMIT of them are returned
+    @Benchmark
+    public List<Integer> searchCommonWords() {
+        return taskManager.search("benchmark epic", LIMIT);
+    }
+}
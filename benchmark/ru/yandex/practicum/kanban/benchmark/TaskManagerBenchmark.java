@@ -0,0 +1,85 @@
+package ru.yandex.practicum.kanban.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import ru.yandex.practicum.kanban.model.Subtask;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentTaskManager;
+import ru.yandex.practicum.kanban.service.impl.DateTimeOverlapException;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Hot paths of the in-memory managers on a board of boardSize tasks and subtasks
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class TaskManagerBenchmark {
+    @Param({"inMemory", "concurrent"})
+    private String implementation;
+
+    @Param({"1000", "100000", "1000000"})
+    private int boardSize;
+
+    private TaskManager taskManager;
+    private LocalDateTime freeStartDateTime;
+    private LocalDateTime overlappingStartDateTime;
+    private Integer epicID;
+    private Subtask subtask;
+
+    @Setup
+    public void setup() {
+        taskManager = implementation.equals("inMemory") ? new InMemoryTaskManager() : new ConcurrentTaskManager();
+        freeStartDateTime = Boards.fill(taskManager, boardSize);
+        overlappingStartDateTime = Boards.START_DATE_TIME.plus(Boards.DURATION.multipliedBy(boardSize / 2));
+
+        List<Subtask> subtasks = taskManager.getAllSubtasks();
+        subtask = subtasks.get(subtasks.size() / 2);
+        epicID = subtask.getEpicID();
+    }
+
+    // Removal keeps the board size stable, so every invocation validates against the same board
+    @Benchmark
+    public void createAndRemoveTask() {
+        Integer id = taskManager.createTask(new Task("Task", "Benchmark task", freeStartDateTime, Boards.DURATION));
+        taskManager.removeTaskByID(id);
+    }
+
+    @Benchmark
+    public void createAndRemoveSubtask() {
+        Subtask newSubtask = new Subtask("Subtask", "Benchmark subtask", freeStartDateTime, Boards.DURATION);
+        newSubtask.setEpicID(epicID);
+        Integer id = taskManager.createSubtask(newSubtask);
+        taskManager.removeSubtaskByID(id);
+    }
+
+    @Benchmark
+    public Object createTaskRejectedByOverlap() {
+        try {
+            return taskManager.createTask(new Task("Task", "Benchmark task", overlappingStartDateTime,
+                    Boards.DURATION));
+        } catch (DateTimeOverlapException e) {
+            return e;
+        }
+    }
+
+    // Each update changes the Subtask status, so the Epic status is recomputed every time
+    @Benchmark
+    public void updateSubtask() {
+        subtask.setStatus(subtask.getStatus() == TaskStatus.DONE ? TaskStatus.IN_PROGRESS : TaskStatus.DONE);
+        taskManager.updateSubtask(subtask);
+    }
+
+    @Benchmark
+    public void getPrioritizedTasks(Blackhole blackhole) {
+        blackhole.consume(taskManager.getPrioritizedTasks());
+    }
+}
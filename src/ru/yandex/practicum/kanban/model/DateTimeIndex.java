@@ -0,0 +1,331 @@
+package ru.yandex.practicum.kanban.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+public class DateTimeIndex {
+    // Start/end are captured on add, so an entry stays reachable even if the Task object is changed afterwards
+    private record Entry(LocalDateTime start, LocalDateTime end, Integer id, Task task) {
+    }
+
+    private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing(Entry::start)
+            .thenComparing(Entry::id);
+
+    private final NavigableSet<Entry> entries = new TreeSet<>(ENTRY_ORDER);
+    private final Map<Integer, Entry> entryByID = new HashMap<>();
+    private Duration totalDuration = Duration.ZERO;
+
+    public void add(Task task) {
+        Integer id = task.getId();
+        remove(id);
+
+        if (task.getStartDateTime() == null || task.getDuration() == null) {
+            return;
+        }
+        Entry entry = new Entry(task.getStartDateTime(), task.getEndDateTime(), id, task);
+        entries.add(entry);
+        entryByID.put(id, entry);
+        totalDuration = totalDuration.plus(Duration.between(entry.start(), entry.end()));
+    }
+
+    /*
+     * Bulk build of an empty index: one sort and one sweep instead of an overlap check and a TreeSet insert
+     * per task. Returns a task that overlaps another one, in which case nothing is added.
+     */
+    public Optional<Task> addAll(Collection<? extends Task> tasks) {
+        if (!entries.isEmpty()) {
+            throw new IllegalStateException("Bulk build requires an empty index!");
+        }
+        List<Entry> sortedEntries = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task.getStartDateTime() != null && task.getDuration() != null) {
+                sortedEntries.add(new Entry(task.getStartDateTime(), task.getEndDateTime(), task.getId(), task));
+            }
+        }
+        sortedEntries.sort(ENTRY_ORDER);
+
+        Optional<Task> overlap = findOverlap(sortedEntries);
+        if (overlap.isPresent()) {
+            return overlap;
+        }
+
+        entries.addAll(new SortedEntries(sortedEntries));
+        for (Entry entry : sortedEntries) {
+            entryByID.put(entry.id(), entry);
+            totalDuration = totalDuration.plus(Duration.between(entry.start(), entry.end()));
+        }
+        return Optional.empty();
+    }
+
+    public void remove(Integer id) {
+        Entry entry = entryByID.remove(id);
+        if (entry != null) {
+            entries.remove(entry);
+            totalDuration = totalDuration.minus(Duration.between(entry.start(), entry.end()));
+        }
+    }
+
+    public void clear() {
+        entries.clear();
+        entryByID.clear();
+        totalDuration = Duration.ZERO;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    public LocalDateTime getFirstStartDateTime() {
+        return entries.isEmpty() ? null : entries.first().start();
+    }
+
+    public LocalDateTime getLastEndDateTime() {
+        return entries.isEmpty() ? null : entries.last().end();
+    }
+
+    public Duration getTotalDuration() {
+        return totalDuration;
+    }
+
+    public List<Task> getTasks() {
+        return entries.stream()
+                .map(Entry::task)
+                .toList();
+    }
+
+    // Tasks ordered after the given start date&time and ID, null start for the beginning
+    public List<Task> getTasks(LocalDateTime afterStart, Integer afterID, int limit) {
+        NavigableSet<Entry> tail = entries;
+        if (afterStart != null) {
+            Integer id = afterID == null ? Integer.MAX_VALUE : afterID;
+            tail = entries.tailSet(new Entry(afterStart, afterStart, id, null), false);
+        }
+        return tail.stream()
+                .limit(Math.max(limit, 0))
+                .map(Entry::task)
+                .toList();
+    }
+
+    /*
+     * Tasks that intersect [from, to), null for an open bound. Only the last task starting before "from"
+     * can still run at "from", the others are a sub-set of the index, so this is O(log n + k).
+     */
+    public List<Task> getTasksBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("End of the range is before its start!");
+        }
+        List<Task> tasks = new ArrayList<>();
+        NavigableSet<Entry> range = entries;
+
+        if (from != null) {
+            Entry fromBound = new Entry(from, from, Integer.MIN_VALUE, null);
+            for (Entry entry : entries.headSet(fromBound, false).descendingSet()) {
+                if (entry.end().isAfter(from) && limit > 0) {
+                    tasks.add(entry.task());
+                }
+                if (entry.start().isBefore(entry.end())) {
+                    break;
+                }
+            }
+            range = range.tailSet(fromBound, true);
+        }
+        if (to != null) {
+            range = range.headSet(new Entry(to, to, Integer.MIN_VALUE, null), false);
+        }
+
+        for (Iterator<Entry> iterator = range.iterator(); iterator.hasNext() && tasks.size() < limit; ) {
+            tasks.add(iterator.next().task());
+        }
+        return tasks;
+    }
+
+    /*
+     * Earliest start at or after "after" at which an interval of the given duration overlaps nothing.
+     * The slot is moved to the end of each task that still runs in it, so only the tasks in front of
+     * the free slot are visited.
+     */
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime after) {
+        if (duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must not be negative!");
+        }
+        LocalDateTime slotStart = after;
+        Entry afterBound = new Entry(after, after, Integer.MIN_VALUE, null);
+
+        for (Entry entry : entries.headSet(afterBound, false).descendingSet()) {
+            if (entry.end().isAfter(slotStart)) {
+                slotStart = entry.end();
+            }
+            if (entry.start().isBefore(entry.end())) {
+                break;
+            }
+        }
+        for (Entry entry : entries.tailSet(afterBound, true)) {
+            if (!entry.start().isBefore(slotStart.plus(duration))) {
+                break;
+            }
+            if (entry.end().isAfter(slotStart)) {
+                slotStart = entry.end();
+            }
+        }
+        return slotStart;
+    }
+
+    /*
+     * Indexed intervals never overlap each other, so their end times grow together with their start times.
+     * Walking back from the last interval that starts before the end of the given one, the first non-empty
+     * interval decides: either it overlaps, or all intervals before it end even earlier.
+     */
+    public Optional<Task> findOverlap(Task task) {
+        if (task.getStartDateTime() == null || task.getDuration() == null) {
+            return Optional.empty();
+        }
+        return findOverlap(task.getStartDateTime(), task.getEndDateTime(), task.getId());
+    }
+
+    /*
+     * Check of tasks that are not in the index yet, e.g. before a bulk insert: one sorted sweep finds overlaps
+     * between them, then each of them is looked up in the index. Returns a task of the given ones that overlaps.
+     */
+    public Optional<Task> findOverlapOfNewTasks(Collection<? extends Task> newTasks) {
+        List<Entry> sortedEntries = new ArrayList<>(newTasks.size());
+        int index = 0;
+        for (Task task : newTasks) {
+            if (task.getStartDateTime() != null && task.getDuration() != null) {
+                // IDs of new tasks are not known yet, the position keeps the order total
+                sortedEntries.add(new Entry(task.getStartDateTime(), task.getEndDateTime(), index, task));
+            }
+            ++index;
+        }
+        sortedEntries.sort(ENTRY_ORDER);
+
+        Optional<Task> overlap = findOverlap(sortedEntries);
+        if (overlap.isPresent()) {
+            return overlap;
+        }
+        for (Entry entry : sortedEntries) {
+            if (findOverlap(entry.start(), entry.end(), null).isPresent()) {
+                return Optional.of(entry.task());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private Optional<Task> findOverlap(LocalDateTime start, LocalDateTime end, Integer ignoredID) {
+        Entry upperBound = new Entry(end, end, Integer.MIN_VALUE, null);
+
+        for (Entry entry : entries.headSet(upperBound, false).descendingSet()) {
+            if (entry.id().equals(ignoredID)) {
+                continue;
+            }
+            if (entry.end().isAfter(start)) {
+                return Optional.of(entry.task());
+            }
+            if (entry.start().isBefore(entry.end())) {
+                break;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /*
+     * Same overlap rule as findOverlap(Task): an interval overlaps an earlier one if it starts before the end
+     * of an interval that started strictly earlier, or if both are non-empty and start at the same time.
+     */
+    private static Optional<Task> findOverlap(List<Entry> sortedEntries) {
+        LocalDateTime maxEndBefore = LocalDateTime.MIN;
+        LocalDateTime groupStart = null;
+        LocalDateTime groupMaxEnd = LocalDateTime.MIN;
+
+        for (Entry entry : sortedEntries) {
+            if (!entry.start().equals(groupStart)) {
+                maxEndBefore = max(maxEndBefore, groupMaxEnd);
+                groupStart = entry.start();
+                groupMaxEnd = LocalDateTime.MIN;
+            }
+            boolean isEmptyInterval = !entry.start().isBefore(entry.end());
+            if (maxEndBefore.isAfter(entry.start()) || (!isEmptyInterval && groupMaxEnd.isAfter(entry.start()))) {
+                return Optional.of(entry.task());
+            }
+            groupMaxEnd = max(groupMaxEnd, entry.end());
+        }
+
+        return Optional.empty();
+    }
+
+    private static LocalDateTime max(LocalDateTime dateTime1, LocalDateTime dateTime2) {
+        return dateTime1.isAfter(dateTime2) ? dateTime1 : dateTime2;
+    }
+
+    /*
+     * Read-only view of a sorted list. TreeSet.addAll() builds its tree from a SortedSet with the same
+     * comparator in linear time; any other TreeSet would only lose that speed-up, not correctness.
+     */
+    private static class SortedEntries extends AbstractSet<Entry> implements SortedSet<Entry> {
+        private final List<Entry> sortedEntries;
+
+        SortedEntries(List<Entry> sortedEntries) {
+            this.sortedEntries = sortedEntries;
+        }
+
+        @Override
+        public Iterator<Entry> iterator() {
+            return Collections.unmodifiableList(sortedEntries).iterator();
+        }
+
+        @Override
+        public int size() {
+            return sortedEntries.size();
+        }
+
+        @Override
+        public Comparator<? super Entry> comparator() {
+            return ENTRY_ORDER;
+        }
+
+        @Override
+        public Entry first() {
+            if (sortedEntries.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return sortedEntries.getFirst();
+        }
+
+        @Override
+        public Entry last() {
+            if (sortedEntries.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return sortedEntries.getLast();
+        }
+
+        @Override
+        public SortedSet<Entry> subSet(Entry fromElement, Entry toElement) {
+            if (ENTRY_ORDER.compare(fromElement, toElement) > 0) {
+                throw new IllegalArgumentException("fromElement is greater than toElement!");
+            }
+            return new SortedEntries(sortedEntries.subList(indexOf(fromElement), indexOf(toElement)));
+        }
+
+        @Override
+        public SortedSet<Entry> headSet(Entry toElement) {
+            return new SortedEntries(sortedEntries.subList(0, indexOf(toElement)));
+        }
+
+        @Override
+        public SortedSet<Entry> tailSet(Entry fromElement) {
+            return new SortedEntries(sortedEntries.subList(indexOf(fromElement), sortedEntries.size()));
+        }
+
+        // Index of the first entry that is not less than the given one
+        private int indexOf(Entry entry) {
+            int index = Collections.binarySearch(sortedEntries, entry, ENTRY_ORDER);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+}
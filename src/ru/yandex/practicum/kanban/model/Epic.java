@@ -2,19 +2,37 @@ package ru.yandex.practicum.kanban.model;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
 import java.util.Objects;
 
 public class Epic extends Task {
     private final List<Integer> subtaskIDs;
     private LocalDateTime endDateTime;
+    // Derived from Subtasks, so not serialized; rebuilt by trackSubtasks() when the Epic is registered
+    private transient Map<Integer, TaskStatus> subtaskStatuses;
+    private transient int[] subtaskStatusCounters;
+    private transient DateTimeIndex subtasksSortedByDateTime;
 
     public Epic(String name, String description) {
         super(name, description, LocalDateTime.MAX, Duration.ZERO);
         subtaskIDs = new ArrayList<>();
         type = TaskTypes.EPIC;
         endDateTime = startDateTime;
+        resetSubtaskTracking();
+    }
+
+    // Copy of the fields without Subtask tracking, which is not needed by a copy that is only read
+    public Epic(Epic other) {
+        super(other);
+        subtaskIDs = new ArrayList<>(other.subtaskIDs);
+        endDateTime = other.endDateTime;
+        subtaskStatuses = new HashMap<>();
+        subtaskStatusCounters = new int[TaskStatus.values().length];
+        subtasksSortedByDateTime = new DateTimeIndex();
     }
 
     public List<Integer> getAllSubtaskIDs() {
@@ -28,12 +46,82 @@ public class Epic extends Task {
         subtaskIDs.add(id);
     }
 
+    public boolean containsSubtask(Integer id) {
+        return subtaskStatuses.containsKey(id);
+    }
+
     public void removeSubtaskByID(Integer id) {
         subtaskIDs.remove(id);
+        untrackSubtask(id);
     }
 
     public void removeAllSubtaskIDs() {
         subtaskIDs.clear();
+        resetSubtaskTracking();
+    }
+
+    public void trackSubtask(Subtask subtask) {
+        TaskStatus prevSubtaskStatus = subtaskStatuses.put(subtask.getId(), subtask.getStatus());
+        if (prevSubtaskStatus != null) {
+            --subtaskStatusCounters[prevSubtaskStatus.ordinal()];
+        }
+        ++subtaskStatusCounters[subtask.getStatus().ordinal()];
+        syncStatus();
+
+        subtasksSortedByDateTime.add(subtask);
+        syncDateTime();
+    }
+
+    // Replaces all tracked Subtasks at once, the Subtasks must not overlap each other
+    public void trackSubtasks(Collection<Subtask> subtasks) {
+        resetSubtaskTracking();
+        for (Subtask subtask : subtasks) {
+            subtaskStatuses.put(subtask.getId(), subtask.getStatus());
+            ++subtaskStatusCounters[subtask.getStatus().ordinal()];
+        }
+        syncStatus();
+
+        subtasksSortedByDateTime.addAll(subtasks);
+        syncDateTime();
+    }
+
+    public void untrackSubtask(Integer subtaskID) {
+        TaskStatus prevSubtaskStatus = subtaskStatuses.remove(subtaskID);
+        if (prevSubtaskStatus != null) {
+            --subtaskStatusCounters[prevSubtaskStatus.ordinal()];
+            syncStatus();
+        }
+
+        subtasksSortedByDateTime.remove(subtaskID);
+        syncDateTime();
+    }
+
+    private void resetSubtaskTracking() {
+        subtaskStatuses = new HashMap<>();
+        subtaskStatusCounters = new int[TaskStatus.values().length];
+        status = TaskStatus.NEW;
+        subtasksSortedByDateTime = new DateTimeIndex();
+    }
+
+    private void syncStatus() {
+        int subtasksCnt = subtaskStatuses.size();
+
+        if (subtaskStatusCounters[TaskStatus.NEW.ordinal()] == subtasksCnt) {
+            status = TaskStatus.NEW;
+        } else if (subtaskStatusCounters[TaskStatus.DONE.ordinal()] == subtasksCnt) {
+            status = TaskStatus.DONE;
+        } else {
+            status = TaskStatus.IN_PROGRESS;
+        }
+    }
+
+    private void syncDateTime() {
+        if (subtasksSortedByDateTime.isEmpty()) {
+            return;
+        }
+        startDateTime = subtasksSortedByDateTime.getFirstStartDateTime();
+        endDateTime = subtasksSortedByDateTime.getLastEndDateTime();
+        duration = subtasksSortedByDateTime.getTotalDuration();
     }
 
     public void setEndDateTime(LocalDateTime endDateTime) {
@@ -1,37 +0,0 @@
-package ru.yandex.practicum.kanban.model;
-
-public class Node {
-    private Task task;
-    private Node prev;
-    private Node next;
-
-    public Node(Node prev, Task task, Node next) {
-        this.task = task;
-        this.next = next;
-        this.prev = prev;
-    }
-
-    public Task getTask() {
-        return task;
-    }
-
-    public void setTask(Task task) {
-        this.task = task;
-    }
-
-    public Node getPrev() {
-        return prev;
-    }
-
-    public void setPrev(Node prev) {
-        this.prev = prev;
-    }
-
-    public Node getNext() {
-        return next;
-    }
-
-    public void setNext(Node next) {
-        this.next = next;
-    }
-}
\ No newline at end of file
@@ -0,0 +1,296 @@
+package ru.yandex.practicum.kanban.model;
+
+import java.util.*;
+
+/*
+ * Inverted index of names and descriptions. Text is split into lowercase words of letters and digits, every word
+ * keeps the IDs it occurs in with a weight: NAME_WEIGHT per occurrence in the name, 1 per occurrence in the
+ * description. Words are sorted, so all words with a given prefix are one sub-map.
+ */
+public class SearchIndex {
+    private static final int NAME_WEIGHT = 4;
+    private static final int EXACT_MATCH_WEIGHT = 2;
+
+    // Words of an item with their weights, kept so the item is removed even if its text was changed after it was added
+    private record ItemWords(String[] words, int[] weights) {
+    }
+
+    private final NavigableMap<String, IDWeights> weightsByWord = new TreeMap<>();
+    private final Map<Integer, ItemWords> wordsByID = new HashMap<>();
+
+    public void add(Task task) {
+        Integer id = task.getId();
+        remove(id);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String word : tokenize(task.getName())) {
+            weights.merge(word, NAME_WEIGHT, Integer::sum);
+        }
+        for (String word : tokenize(task.getDescription())) {
+            weights.merge(word, 1, Integer::sum);
+        }
+        if (weights.isEmpty()) {
+            return;
+        }
+
+        ItemWords itemWords = new ItemWords(new String[weights.size()], new int[weights.size()]);
+        int wordIndex = 0;
+        for (Map.Entry<String, Integer> wordWeight : weights.entrySet()) {
+            itemWords.words()[wordIndex] = wordWeight.getKey();
+            itemWords.weights()[wordIndex++] = wordWeight.getValue();
+            weightsByWord.computeIfAbsent(wordWeight.getKey(), w -> new IDWeights()).add(id, wordWeight.getValue());
+        }
+        wordsByID.put(id, itemWords);
+    }
+
+    public void remove(Integer id) {
+        ItemWords itemWords = wordsByID.remove(id);
+        if (itemWords == null) {
+            return;
+        }
+        for (String word : itemWords.words()) {
+            IDWeights weights = weightsByWord.get(word);
+            weights.remove(id);
+            if (weights.size() == 0) {
+                weightsByWord.remove(word);
+            }
+        }
+    }
+
+    public void clear() {
+        weightsByWord.clear();
+        wordsByID.clear();
+    }
+
+    public int size() {
+        return wordsByID.size();
+    }
+
+    /*
+     * IDs of the items that have every word of the query as a word or a prefix of a word, best first, then by ID.
+     * The score sums the weights of the matching words, a whole word counts EXACT_MATCH_WEIGHT times more.
+     */
+    public List<Integer> search(String query, int limit) {
+        Set<String> queryWords = new LinkedHashSet<>(tokenize(query));
+        if (queryWords.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        // The query word with the fewest IDs goes first, so there are as few candidates as possible from the start
+        List<Map.Entry<String, Integer>> queryWordsByMatchesCnt = new ArrayList<>(queryWords.size());
+        for (String queryWord : queryWords) {
+            int matchesCnt = 0;
+            for (IDWeights weights : getWordsWithPrefix(queryWord).values()) {
+                matchesCnt += weights.size();
+            }
+            if (matchesCnt == 0) {
+                return List.of();
+            }
+            queryWordsByMatchesCnt.add(Map.entry(queryWord, matchesCnt));
+        }
+        queryWordsByMatchesCnt.sort(Map.Entry.comparingByValue());
+
+        IDWeights scores = null;
+        for (Map.Entry<String, Integer> queryWord : queryWordsByMatchesCnt) {
+            // Few candidates are checked word by word instead of walking all IDs of the query word
+            scores = scores != null && scores.size() < queryWord.getValue()
+                    ? scoreCandidates(queryWord.getKey(), scores)
+                    : score(queryWord.getKey(), scores);
+            if (scores.size() == 0) {
+                return List.of();
+            }
+        }
+        return getBest(scores, limit);
+    }
+
+    private SortedMap<String, IDWeights> getWordsWithPrefix(String prefix) {
+        return weightsByWord.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    // Scores of the query word, added to the previous scores. Only IDs with previous scores are kept, if any
+    private IDWeights score(String queryWord, IDWeights previousScores) {
+        IDWeights scores = new IDWeights();
+
+        for (Map.Entry<String, IDWeights> wordWeights : getWordsWithPrefix(queryWord).entrySet()) {
+            int multiplier = wordWeights.getKey().equals(queryWord) ? EXACT_MATCH_WEIGHT : 1;
+            IDWeights weights = wordWeights.getValue();
+            for (int slot = 0; slot < weights.ids.length; ++slot) {
+                int id = weights.ids[slot];
+                if (id != IDWeights.EMPTY && (previousScores == null || previousScores.get(id) > 0)) {
+                    scores.add(id, weights.weights[slot] * multiplier);
+                }
+            }
+        }
+
+        if (previousScores != null) {
+            for (int slot = 0; slot < scores.ids.length; ++slot) {
+                if (scores.ids[slot] != IDWeights.EMPTY) {
+                    scores.weights[slot] += previousScores.get(scores.ids[slot]);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private IDWeights scoreCandidates(String queryWord, IDWeights previousScores) {
+        IDWeights scores = new IDWeights();
+
+        for (int slot = 0; slot < previousScores.ids.length; ++slot) {
+            int id = previousScores.ids[slot];
+            if (id == IDWeights.EMPTY) {
+                continue;
+            }
+            ItemWords itemWords = wordsByID.get(id);
+            int score = 0;
+            for (int wordIndex = 0; wordIndex < itemWords.words().length; ++wordIndex) {
+                String word = itemWords.words()[wordIndex];
+                if (word.startsWith(queryWord)) {
+                    int multiplier = word.equals(queryWord) ? EXACT_MATCH_WEIGHT : 1;
+                    score += itemWords.weights()[wordIndex] * multiplier;
+                }
+            }
+            if (score > 0) {
+                scores.add(id, previousScores.weights[slot] + score);
+            }
+        }
+        return scores;
+    }
+
+    /*
+     * A heap of the best "limit" scores, so the result is found in O(n log limit) instead of sorting all of them.
+     * A score and an ID are packed into one long, which is greater for a better match.
+     */
+    private static List<Integer> getBest(IDWeights scores, int limit) {
+        PriorityQueue<Long> best = new PriorityQueue<>();
+
+        for (int slot = 0; slot < scores.ids.length; ++slot) {
+            if (scores.ids[slot] == IDWeights.EMPTY) {
+                continue;
+            }
+            long match = (long) scores.weights[slot] << Integer.SIZE | (Integer.MAX_VALUE - scores.ids[slot]);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (match > best.peek()) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        Integer[] ids = new Integer[best.size()];
+        for (int i = ids.length - 1; i >= 0; --i) {
+            ids[i] = Integer.MAX_VALUE - (int) (best.poll() & Integer.MAX_VALUE);
+        }
+        return Arrays.asList(ids);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        int wordStart = -1;
+
+        for (int i = 0; i <= text.length(); ++i) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && wordStart < 0) {
+                wordStart = i;
+            } else if (!isWordChar && wordStart >= 0) {
+                words.add(text.substring(wordStart, i).toLowerCase(Locale.ROOT));
+                wordStart = -1;
+            }
+        }
+        return words;
+    }
+
+    /*
+     * Positive IDs to positive weights in two arrays with linear probing, no more than half full.
+     * Most words belong to a few items, so this is much smaller than a HashMap with boxed keys and entries.
+     */
+    private static class IDWeights {
+        private static final int EMPTY = 0;
+
+        private int[] ids = new int[2];
+        private int[] weights = new int[2];
+        private int size = 0;
+
+        int size() {
+            return size;
+        }
+
+        // 0 if there is no such ID
+        int get(int id) {
+            for (int slot = slotOf(id, ids.length); ids[slot] != EMPTY; slot = nextSlot(slot)) {
+                if (ids[slot] == id) {
+                    return weights[slot];
+                }
+            }
+            return 0;
+        }
+
+        void add(int id, int weight) {
+            int slot = slotOf(id, ids.length);
+            while (ids[slot] != EMPTY && ids[slot] != id) {
+                slot = nextSlot(slot);
+            }
+            if (ids[slot] == EMPTY) {
+                if ((size + 1) * 2 > ids.length) {
+                    grow();
+                    add(id, weight);
+                    return;
+                }
+                ids[slot] = id;
+                ++size;
+            }
+            weights[slot] += weight;
+        }
+
+        // The following entries of the probe sequence are shifted back, so no deleted marks are needed
+        void remove(int id) {
+            int slot = slotOf(id, ids.length);
+            while (ids[slot] != id) {
+                if (ids[slot] == EMPTY) {
+                    return;
+                }
+                slot = nextSlot(slot);
+            }
+            --size;
+
+            int emptySlot = slot;
+            for (slot = nextSlot(slot); ids[slot] != EMPTY; slot = nextSlot(slot)) {
+                int homeSlot = slotOf(ids[slot], ids.length);
+                boolean isHomeAfterEmptySlot = emptySlot <= slot
+                        ? emptySlot < homeSlot && homeSlot <= slot
+                        : emptySlot < homeSlot || homeSlot <= slot;
+                if (!isHomeAfterEmptySlot) {
+                    ids[emptySlot] = ids[slot];
+                    weights[emptySlot] = weights[slot];
+                    emptySlot = slot;
+                }
+            }
+            ids[emptySlot] = EMPTY;
+            weights[emptySlot] = 0;
+        }
+
+        private void grow() {
+            int[] oldIDs = ids;
+            int[] oldWeights = weights;
+            ids = new int[oldIDs.length * 2];
+            weights = new int[oldIDs.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldIDs.length; ++slot) {
+                if (oldIDs[slot] != EMPTY) {
+                    add(oldIDs[slot], oldWeights[slot]);
+                }
+            }
+        }
+
+        private int nextSlot(int slot) {
+            return (slot + 1) & (ids.length - 1);
+        }
+
+        private static int slotOf(int id, int capacity) {
+            int hash = id * 0x9E3779B9;
+            return (hash ^ hash >>> 16) & (capacity - 1);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package ru.yandex.practicum.kanban.model;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+/*
+ * IDs of Tasks, Subtasks and Epics by status. IDs are small positive ints given out in order,
+ * so every set is a BitSet with one bit per ID and is listed in ID order.
+ */
+public class StatusIndex {
+    private final Map<TaskTypes, Map<TaskStatus, BitSet>> idsByTypeAndStatus = new EnumMap<>(TaskTypes.class);
+
+    public StatusIndex() {
+        for (TaskTypes type : TaskTypes.values()) {
+            Map<TaskStatus, BitSet> idsByStatus = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                idsByStatus.put(status, new BitSet());
+            }
+            idsByTypeAndStatus.put(type, idsByStatus);
+        }
+    }
+
+    // The previous status is not needed: the ID is cleared from every status of its type first
+    public void add(Task task) {
+        remove(task.getType(), task.getId());
+        if (task.getStatus() != null) {
+            idsByTypeAndStatus.get(task.getType()).get(task.getStatus()).set(task.getId());
+        }
+    }
+
+    public void remove(TaskTypes type, Integer id) {
+        if (id == null || id < 0) {
+            return;
+        }
+        for (BitSet ids : idsByTypeAndStatus.get(type).values()) {
+            ids.clear(id);
+        }
+    }
+
+    public void clear(TaskTypes type) {
+        idsByTypeAndStatus.get(type).values().forEach(BitSet::clear);
+    }
+
+    public void clear() {
+        idsByTypeAndStatus.keySet().forEach(this::clear);
+    }
+
+    public int[] getIDs(TaskTypes type, TaskStatus status) {
+        return idsByTypeAndStatus.get(type).get(status).stream().toArray();
+    }
+}
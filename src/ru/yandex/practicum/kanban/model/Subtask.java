@@ -18,7 +18,7 @@ public class Subtask extends Task {
     }
 
     public void setEpicID(Integer epicID) {
-        if (this.id.equals(epicID)) {
+        if (id != null && id.equals(epicID)) {
             throw new IllegalArgumentException("Subtask cannot be made it's own Epic!");
         }
         this.epicID = epicID;
@@ -10,7 +10,13 @@ public class Managers {
         return new FileBackedTaskManager(FILE_NAME);
     }
 
+    // Not persisted; Epics and the schedule are locked separately instead of one lock for the whole board
+    public static TaskManager getConcurrent() {
+        return new ConcurrentTaskManager();
+    }
+
+    // History of each HTTP client is kept separately, callers outside a client session share one history
     public static HistoryManager getDefaultHistory() {
-        return new InMemoryHistoryManager();
+        return new PartitionedHistoryManager();
     }
 }
\ No newline at end of file
@@ -10,4 +10,7 @@ public interface HistoryManager {
     void remove(int id);
 
     List<Task> getHistory();
+
+    // The most recent views, oldest first; no views for a limit of zero or less
+    List<Task> getHistory(int limit);
 }
\ No newline at end of file
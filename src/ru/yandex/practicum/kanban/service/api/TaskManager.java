@@ -2,21 +2,55 @@ package ru.yandex.practicum.kanban.service.api;
 
 import ru.yandex.practicum.kanban.model.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface TaskManager {
 
+    // Changes with every change of Tasks, Subtasks or Epics, but not with history
+    long getVersion();
+
     List<Task> getHistory();
 
+    List<Task> getHistory(int limit);
+
     List<Task> getPrioritizedTasks();
 
+    // Next page of prioritized Tasks after the one with the given start date&time and ID (nulls for the first page)
+    List<Task> getPrioritizedTasksPage(LocalDateTime afterStartDateTime, Integer afterID, int limit);
+
+    // Prioritized Tasks that run at some time in [from, to), null for an open bound
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit);
+
+    // Earliest start date&time at or after the given one, at which a Task of the given duration overlaps nothing
+    LocalDateTime findFreeSlot(Duration duration, LocalDateTime after);
+
+    // IDs of Tasks, Subtasks and Epics with every word of the query in their names or descriptions, best first
+    List<Integer> search(String query, int limit);
+
     // Tasks methods
     List<Task> getAllTasks();
 
+    // Number of registered Tasks, without a copy of them
+    int getTasksCnt();
+
+    // Pages are ordered by ID and start after the given ID (null for the first page)
+    List<Task> getTasksPage(Integer afterID, int limit);
+
+    // Ordered by ID like the pages, found without a scan of all Tasks
+    List<Task> getTasksByStatus(TaskStatus status);
+
     Task getTaskByID(Integer id);
 
     Integer createTask(Task task);
 
+    // Creates all Tasks or none of them, returns their IDs in the given order
+    List<Integer> createTasks(List<Task> tasks);
+
+    // Moves the start of the Task to the earliest free slot at or after it, then creates the Task
+    Integer createTaskInFreeSlot(Task task);
+
     void updateTask(Task task);
 
     void removeTaskByID(Integer id);
@@ -26,10 +60,20 @@ public interface TaskManager {
     // Subtasks methods
     List<Subtask> getAllSubtasks();
 
+    int getSubtasksCnt();
+
+    List<Subtask> getSubtasksPage(Integer afterID, int limit);
+
+    List<Subtask> getSubtasksByStatus(TaskStatus status);
+
     Subtask getSubtaskByID(Integer id);
 
     Integer createSubtask(Subtask subtask);
 
+    List<Integer> createSubtasks(List<Subtask> subtasks);
+
+    Integer createSubtaskInFreeSlot(Subtask subtask);
+
     void updateSubtask(Subtask subtask);
 
     void removeSubtaskByID(Integer subtaskID);
@@ -39,6 +83,12 @@ public interface TaskManager {
     // Epics methods
     List<Epic> getAllEpic();
 
+    int getEpicsCnt();
+
+    List<Epic> getEpicsPage(Integer afterID, int limit);
+
+    List<Epic> getEpicsByStatus(TaskStatus status);
+
     Epic getEpicByID(Integer id);
 
     List<Subtask> getAllSubtasksByEpicID(Integer epicID);
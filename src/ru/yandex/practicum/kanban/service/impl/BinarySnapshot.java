@@ -0,0 +1,283 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Fixed-layout snapshot read through a MappedByteBuffer, fields are decoded only when accessed.
+ *
+ * Header:  magic, version, number of records, number of Subtask IDs (4 bytes each),
+ *          lengths of the CSV file and of the journal it was written from (8 bytes each, -1 for no file)
+ * Records: RECORD_SIZE bytes each, see *_OFFSET constants
+ * Subtask ID table: ints, Epic records refer to a range of it
+ * String table: UTF-8 names and descriptions, records refer to them by offset and length (-1 for null),
+ *               each length follows its offset
+ */
+public class BinarySnapshot {
+    private static final int MAGIC = 0x4B42534E; // "KBSN"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_COUNT_OFFSET = 8;
+    private static final int SUBTASK_ID_COUNT_OFFSET = 12;
+    private static final int FILE_LENGTH_OFFSET = 16;
+    private static final int JOURNAL_LENGTH_OFFSET = 24;
+    public static final long NO_FILE_LENGTH = -1;
+
+    private static final int ID_OFFSET = 0;
+    private static final int TYPE_OFFSET = 4;
+    private static final int STATUS_OFFSET = 5;
+    private static final int START_EPOCH_SECOND_OFFSET = 6;
+    private static final int START_NANO_OFFSET = 14;
+    private static final int DURATION_MINUTES_OFFSET = 18;
+    private static final int EPIC_ID_OFFSET = 26;
+    private static final int SUBTASK_IDS_INDEX_OFFSET = 30;
+    private static final int SUBTASK_IDS_COUNT_OFFSET = 34;
+    private static final int NAME_OFFSET = 38;
+    private static final int DESCRIPTION_OFFSET = 46;
+    private static final int RECORD_SIZE = 54;
+
+    private static final int NULL_STRING_LENGTH = -1;
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final TaskTypes[] TYPES = TaskTypes.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final int subtaskIDTableOffset;
+    private final int stringTableOffset;
+
+    private BinarySnapshot(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new ManagerLoadException("Not a binary snapshot of version " + VERSION);
+        }
+        size = buffer.getInt(RECORD_COUNT_OFFSET);
+        subtaskIDTableOffset = HEADER_SIZE + size * RECORD_SIZE;
+        stringTableOffset = subtaskIDTableOffset + buffer.getInt(SUBTASK_ID_COUNT_OFFSET) * Integer.BYTES;
+    }
+
+    public static BinarySnapshot open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new BinarySnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
+    }
+
+    /*
+     * The file is replaced only when completely written, so a reader never maps a partly written snapshot.
+     * Lengths of the CSV file and the journal tell a reader if they were changed after the snapshot.
+     */
+    public static void write(Path path, Collection<? extends Task> tasks, long fileLength, long journalLength) {
+        Path tempPath = Paths.get(path + TEMP_FILE_EXTENSION);
+        writeFile(tempPath, tasks, fileLength, journalLength);
+        try {
+            Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    private static void writeFile(Path path, Collection<? extends Task> tasks, long fileLength, long journalLength) {
+        List<byte[]> strings = new ArrayList<>(tasks.size() * 2);
+        int subtaskIDsCnt = 0;
+
+        for (Task task : tasks) {
+            strings.add(encode(task.getName()));
+            strings.add(encode(task.getDescription()));
+            if (task instanceof Epic epic) {
+                subtaskIDsCnt += epic.getAllSubtaskIDs().size();
+            }
+        }
+
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(tasks.size());
+            output.writeInt(subtaskIDsCnt);
+            output.writeLong(fileLength);
+            output.writeLong(journalLength);
+
+            int stringIndex = 0;
+            int stringOffset = 0;
+            int subtaskIDsIndex = 0;
+
+            for (Task task : tasks) {
+                LocalDateTime startDateTime = task.getStartDateTime();
+                output.writeInt(task.getId());
+                output.writeByte(task.getType().ordinal());
+                output.writeByte(task.getStatus().ordinal());
+                output.writeLong(startDateTime.toEpochSecond(ZoneOffset.UTC));
+                output.writeInt(startDateTime.getNano());
+                output.writeLong(task.getDuration().toMinutes());
+                output.writeInt(task instanceof Subtask subtask ? subtask.getEpicID() : Task.INVALID_ID);
+
+                int epicSubtaskIDsCnt = task instanceof Epic epic ? epic.getAllSubtaskIDs().size() : 0;
+                output.writeInt(subtaskIDsIndex);
+                output.writeInt(epicSubtaskIDsCnt);
+                subtaskIDsIndex += epicSubtaskIDsCnt;
+
+                for (int i = 0; i < 2; ++i) {
+                    byte[] string = strings.get(stringIndex++);
+                    output.writeInt(stringOffset);
+                    output.writeInt(string == null ? NULL_STRING_LENGTH : string.length);
+                    stringOffset += string == null ? 0 : string.length;
+                }
+            }
+
+            for (Task task : tasks) {
+                if (task instanceof Epic epic) {
+                    for (Integer subtaskID : epic.getAllSubtaskIDs()) {
+                        output.writeInt(subtaskID);
+                    }
+                }
+            }
+
+            for (byte[] string : strings) {
+                if (string != null) {
+                    output.write(string);
+                }
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+    }
+
+    // The snapshot holds the CSV file only, a journal written next to it makes the snapshot stale
+    public static void convertFromCsv(Path csvPath, Path binaryPath) {
+        List<Task> tasks = new ArrayList<>();
+        long fileLength;
+        try (CsvTaskReader reader = CsvTaskReader.open(csvPath)) {
+            fileLength = Files.size(csvPath);
+            reader.skipLine(); // File header
+            for (Task task = reader.next(); task != null; task = reader.next()) {
+                tasks.add(task);
+            }
+        } catch (IOException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
+        write(binaryPath, tasks, fileLength, NO_FILE_LENGTH);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getFileLength() {
+        return buffer.getLong(FILE_LENGTH_OFFSET);
+    }
+
+    public long getJournalLength() {
+        return buffer.getLong(JOURNAL_LENGTH_OFFSET);
+    }
+
+    public Integer getId(int index) {
+        return buffer.getInt(recordOffset(index) + ID_OFFSET);
+    }
+
+    public TaskTypes getType(int index) {
+        return TYPES[buffer.get(recordOffset(index) + TYPE_OFFSET)];
+    }
+
+    public TaskStatus getStatus(int index) {
+        return STATUSES[buffer.get(recordOffset(index) + STATUS_OFFSET)];
+    }
+
+    public LocalDateTime getStartDateTime(int index) {
+        int recordOffset = recordOffset(index);
+        long epochSecond = buffer.getLong(recordOffset + START_EPOCH_SECOND_OFFSET);
+        int nano = buffer.getInt(recordOffset + START_NANO_OFFSET);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    public Duration getDuration(int index) {
+        return Duration.ofMinutes(buffer.getLong(recordOffset(index) + DURATION_MINUTES_OFFSET));
+    }
+
+    public Integer getEpicID(int index) {
+        return buffer.getInt(recordOffset(index) + EPIC_ID_OFFSET);
+    }
+
+    public List<Integer> getSubtaskIDs(int index) {
+        int recordOffset = recordOffset(index);
+        int subtaskIDsIndex = buffer.getInt(recordOffset + SUBTASK_IDS_INDEX_OFFSET);
+        int subtaskIDsCnt = buffer.getInt(recordOffset + SUBTASK_IDS_COUNT_OFFSET);
+        List<Integer> subtaskIDs = new ArrayList<>(subtaskIDsCnt);
+
+        for (int i = 0; i < subtaskIDsCnt; ++i) {
+            subtaskIDs.add(buffer.getInt(subtaskIDTableOffset + (subtaskIDsIndex + i) * Integer.BYTES));
+        }
+        return subtaskIDs;
+    }
+
+    public String getName(int index) {
+        return decode(recordOffset(index) + NAME_OFFSET);
+    }
+
+    public String getDescription(int index) {
+        return decode(recordOffset(index) + DESCRIPTION_OFFSET);
+    }
+
+    public Task getTask(int index) {
+        String name = getName(index);
+        String description = getDescription(index);
+        Task task = switch (getType(index)) {
+            case TaskTypes.TASK -> new Task(name, description, getStartDateTime(index), getDuration(index));
+            case TaskTypes.EPIC -> {
+                Epic epic = new Epic(name, description);
+                epic.setStartDateTime(getStartDateTime(index));
+                epic.setDuration(getDuration(index));
+                getSubtaskIDs(index).forEach(epic::addSubtaskID);
+                yield epic;
+            }
+            case TaskTypes.SUBTASK -> {
+                Subtask subtask = new Subtask(name, description, getStartDateTime(index), getDuration(index));
+                subtask.setEpicID(getEpicID(index));
+                yield subtask;
+            }
+        };
+
+        task.setId(getId(index));
+        task.setStatus(getStatus(index));
+        return task;
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Record index " + index + " out of bounds for size " + size);
+        }
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+
+    private static byte[] encode(String string) {
+        return string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private String decode(int fieldOffset) {
+        int offset = buffer.getInt(fieldOffset);
+        int length = buffer.getInt(fieldOffset + Integer.BYTES);
+        if (length == NULL_STRING_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(stringTableOffset + offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
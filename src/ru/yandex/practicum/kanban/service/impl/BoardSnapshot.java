@@ -0,0 +1,17 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+
+import java.util.List;
+
+/*
+ * Immutable lists of everything registered in a TaskManager at one version. Tasks and Subtasks are the same
+ * objects as in the manager; Epics are changed by their Subtasks, so they are copies made at the version.
+ */
+public record BoardSnapshot(long version,
+                            List<Task> tasks,
+                            List<Epic> epics,
+                            List<Subtask> subtasks,
+                            List<Task> prioritizedTasks) {
+    public static final BoardSnapshot EMPTY = new BoardSnapshot(0, List.of(), List.of(), List.of(), List.of());
+}
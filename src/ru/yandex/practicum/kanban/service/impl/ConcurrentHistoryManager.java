@@ -0,0 +1,88 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.HistoryManager;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Thread-safe history of at most maxSize tasks, the oldest view is evicted first.
+ * add() only appends to a lock-free buffer and drains it if nobody else does, so concurrent views never
+ * wait for each other. remove() and getHistory() drain the buffer under the lock before they run,
+ * so they always see all views made before them. The views are kept by a bounded InMemoryHistoryManager,
+ * which is only used under the lock.
+ */
+public class ConcurrentHistoryManager implements HistoryManager {
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    private final Queue<Task> viewBuffer = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final InMemoryHistoryManager history;
+
+    public ConcurrentHistoryManager() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    public ConcurrentHistoryManager(int maxSize) {
+        history = new InMemoryHistoryManager(maxSize);
+    }
+
+    @Override
+    public void add(Task task) {
+        if (task == null) {
+            return;
+        }
+        viewBuffer.offer(task);
+
+        // A view offered while the lock holder finishes its drain is picked up by the next loop
+        while (!viewBuffer.isEmpty() && drainLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void remove(int id) {
+        drainLock.lock();
+        try {
+            drain();
+            history.remove(id);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        drainLock.lock();
+        try {
+            drain();
+            return history.getHistory();
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        drainLock.lock();
+        try {
+            drain();
+            return history.getHistory(limit);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    private void drain() {
+        Task task;
+        while ((task = viewBuffer.poll()) != null) {
+            history.add(task);
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+import ru.yandex.practicum.kanban.service.Managers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/*
+ * Thread-safe TaskManager. Subtask and Epic changes lock the stripe of their Epic, so independent Epics
+ * are changed in parallel. The date&time schedule is shared by all tasks and has its own lock, which is
+ * always taken after the stripe locks. Tasks do not belong to an Epic and change under the schedule lock.
+ * The status and search indexes are changed from under all of these locks, so their own locks are taken last.
+ *
+ * List reads are served from an immutable BoardSnapshot, which readers take without any lock. Every change
+ * publishes a new snapshot before it releases its locks: the items it changed are put into persistent maps,
+ * which share everything else with the previous snapshot, so publishing is O(k log n) for k changed items.
+ * The items a change touched are taken from the status index calls, which every change makes for them.
+ * Epics are changed in place by their Subtask changes, so snapshots hold copies of them.
+ */
+public class ConcurrentTaskManager extends InMemoryTaskManager {
+    public static final int DEFAULT_EPIC_LOCK_STRIPES = 64;
+    private final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final ReentrantLock[] epicLocks;
+    private final ReentrantLock scheduleLock = new ReentrantLock();
+    private final ReentrantLock statusIndexLock = new ReentrantLock();
+    private final ReentrantLock searchIndexLock = new ReentrantLock();
+    private final AtomicLong version = new AtomicLong();
+    private volatile BoardSnapshot snapshot = BoardSnapshot.EMPTY;
+
+    // Changed items of the current change of each thread, a change may call other changes
+    private static class PendingChanges {
+        private int depth = 0;
+        private final List<BoardChange> changes = new ArrayList<>();
+    }
+
+    // A changed item, or all items of the type if the ID is null
+    private record BoardChange(TaskTypes type, Integer id) {
+    }
+
+    // Start is captured when published, so the Task is found in the schedule even if it was changed afterwards
+    private record ScheduleKey(LocalDateTime start, Integer id) {
+    }
+
+    private static final Comparator<ScheduleKey> SCHEDULE_ORDER = Comparator.comparing(ScheduleKey::start)
+            .thenComparing(ScheduleKey::id);
+
+    private final ThreadLocal<PendingChanges> pendingChanges = ThreadLocal.withInitial(PendingChanges::new);
+    // Published maps are changed under publishLock only
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private PersistentSortedMap<Integer, Task> publishedTasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<Integer, Epic> publishedEpics = PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<Integer, Subtask> publishedSubtasks =
+            PersistentSortedMap.empty(Comparator.naturalOrder());
+    private PersistentSortedMap<ScheduleKey, Task> publishedSchedule = PersistentSortedMap.empty(SCHEDULE_ORDER);
+    private final Map<Integer, ScheduleKey> publishedScheduleKeys = new HashMap<>();
+
+    public ConcurrentTaskManager() {
+        this(DEFAULT_EPIC_LOCK_STRIPES);
+    }
+
+    public ConcurrentTaskManager(int epicLockStripes) {
+        super(new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>(), new ConcurrentSkipListMap<>(),
+                Managers.getDefaultHistory());
+        epicLocks = new ReentrantLock[epicLockStripes];
+        for (int stripe = 0; stripe < epicLockStripes; ++stripe) {
+            epicLocks[stripe] = new ReentrantLock();
+        }
+    }
+
+    public BoardSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return getSnapshot().prioritizedTasks();
+    }
+
+    /*
+     * Schedule ranges and pages are read from the live schedule under its lock. Pages by ID are not overridden:
+     * they are read from the skip list maps directly, without a lock or a snapshot.
+     */
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartDateTime, Integer afterID, int limit) {
+        return withScheduleLock(() -> super.getPrioritizedTasksPage(afterStartDateTime, afterID, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return withScheduleLock(() -> super.getPrioritizedTasks(from, to, limit));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime after) {
+        return withScheduleLock(() -> super.findFreeSlot(duration, after));
+    }
+
+    // Tasks methods
+    @Override
+    public List<Task> getAllTasks() {
+        return getSnapshot().tasks();
+    }
+
+    // Sizes of the skip list maps are counted by a traversal, the snapshot lists know theirs
+    @Override
+    public int getTasksCnt() {
+        return getSnapshot().tasks().size();
+    }
+
+    @Override
+    public Integer createTask(Task task) {
+        return withScheduleLock(() -> change(() -> super.createTask(task)));
+    }
+
+    @Override
+    public List<Integer> createTasks(List<Task> newTasks) {
+        return withScheduleLock(() -> change(() -> super.createTasks(newTasks)));
+    }
+
+    // The schedule stays locked from the search of the slot until the Task is added to it
+    @Override
+    public Integer createTaskInFreeSlot(Task task) {
+        return withScheduleLock(() -> change(() -> super.createTaskInFreeSlot(task)));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        withScheduleLock(() -> change(() -> {
+            super.updateTask(task);
+            return null;
+        }));
+    }
+
+    @Override
+    public void removeTaskByID(Integer id) {
+        withScheduleLock(() -> change(() -> {
+            super.removeTaskByID(id);
+            return null;
+        }));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        withScheduleLock(() -> change(() -> {
+            super.removeAllTasks();
+            return null;
+        }));
+    }
+
+    // Subtasks methods
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return getSnapshot().subtasks();
+    }
+
+    @Override
+    public int getSubtasksCnt() {
+        return getSnapshot().subtasks().size();
+    }
+
+    @Override
+    public Integer createSubtask(Subtask subtask) {
+        return withEpicLocks(() -> change(() -> super.createSubtask(subtask)), subtask.getEpicID());
+    }
+
+    @Override
+    public List<Integer> createSubtasks(List<Subtask> newSubtasks) {
+        Integer[] epicIDs = newSubtasks.stream()
+                .map(Subtask::getEpicID)
+                .distinct()
+                .toArray(Integer[]::new);
+        return withEpicLocks(() -> change(() -> super.createSubtasks(newSubtasks)), epicIDs);
+    }
+
+    @Override
+    public Integer createSubtaskInFreeSlot(Subtask subtask) {
+        return withEpicLocks(() -> withScheduleLock(() -> change(() -> super.createSubtaskInFreeSlot(subtask))),
+                subtask.getEpicID());
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        Subtask oldSubtask = subtasks.get(subtask.getId());
+        Integer oldEpicID = oldSubtask == null ? subtask.getEpicID() : oldSubtask.getEpicID();
+        withEpicLocks(() -> change(() -> {
+            super.updateSubtask(subtask);
+            return null;
+        }), oldEpicID, subtask.getEpicID());
+    }
+
+    @Override
+    public void removeSubtaskByID(Integer subtaskID) {
+        Subtask subtask = subtasks.get(subtaskID);
+        if (subtask == null) {
+            return;
+        }
+        withEpicLocks(() -> change(() -> {
+            super.removeSubtaskByID(subtaskID);
+            return null;
+        }), subtask.getEpicID());
+    }
+
+    @Override
+    public void removeAllSubtasks() {
+        withAllEpicLocks(() -> change(() -> {
+            super.removeAllSubtasks();
+            return null;
+        }));
+    }
+
+    // Epics methods
+    @Override
+    public List<Epic> getAllEpic() {
+        return getSnapshot().epics();
+    }
+
+    @Override
+    public int getEpicsCnt() {
+        return getSnapshot().epics().size();
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasksByEpicID(Integer epicID) {
+        return withEpicLocks(() -> super.getAllSubtasksByEpicID(epicID), epicID);
+    }
+
+    @Override
+    public Integer createEpic(Epic epic) {
+        // The ID is needed for locking, so the Epic is registered here instead of super.createEpic()
+        Integer id = generateID();
+        epic.setId(id);
+        return withEpicLocks(() -> change(() -> {
+            epics.put(id, epic);
+            syncEpic(id);
+            addToSearchIndex(epic);
+            return id;
+        }), id);
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        withEpicLocks(() -> change(() -> {
+            super.updateEpic(epic);
+            return null;
+        }), epic.getId());
+    }
+
+    @Override
+    public void removeEpicByID(Integer epicID) {
+        withEpicLocks(() -> change(() -> {
+            super.removeEpicByID(epicID);
+            return null;
+        }), epicID);
+    }
+
+    @Override
+    public void removeAllEpic() {
+        withAllEpicLocks(() -> change(() -> {
+            super.removeAllEpic();
+            return null;
+        }));
+    }
+
+    @Override
+    protected void boardChanged() {
+        // The version is bumped by publish() after the change is done, so a snapshot never misses it
+    }
+
+    @Override
+    protected Integer generateID() {
+        return idGenerator.getAndIncrement();
+    }
+
+    @Override
+    protected void addToSchedule(Task task) {
+        withScheduleLock(() -> {
+            super.addToSchedule(task);
+            return null;
+        });
+    }
+
+    @Override
+    protected void addAllToSchedule(List<? extends Task> newTasks) {
+        withScheduleLock(() -> {
+            super.addAllToSchedule(newTasks);
+            return null;
+        });
+    }
+
+    @Override
+    protected void removeFromSchedule(Integer id) {
+        withScheduleLock(() -> {
+            super.removeFromSchedule(id);
+            return null;
+        });
+    }
+
+    @Override
+    protected void addToStatusIndex(Task task) {
+        withStatusIndexLock(() -> super.addToStatusIndex(task));
+        recordChange(task.getType(), task.getId());
+    }
+
+    @Override
+    protected void removeFromStatusIndex(TaskTypes type, Integer id) {
+        withStatusIndexLock(() -> super.removeFromStatusIndex(type, id));
+        recordChange(type, id);
+    }
+
+    @Override
+    protected void clearStatusIndex(TaskTypes type) {
+        withStatusIndexLock(() -> super.clearStatusIndex(type));
+        recordChange(type, null);
+    }
+
+    @Override
+    protected void clearStatusIndex() {
+        withStatusIndexLock(super::clearStatusIndex);
+        for (TaskTypes type : TaskTypes.values()) {
+            recordChange(type, null);
+        }
+    }
+
+    @Override
+    protected int[] getIDsByStatus(TaskTypes type, TaskStatus status) {
+        statusIndexLock.lock();
+        try {
+            return super.getIDsByStatus(type, status);
+        } finally {
+            statusIndexLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Integer> search(String query, int limit) {
+        return withSearchIndexLock(() -> super.search(query, limit));
+    }
+
+    @Override
+    protected void addToSearchIndex(Task task) {
+        withSearchIndexLock(() -> {
+            super.addToSearchIndex(task);
+            return null;
+        });
+    }
+
+    @Override
+    protected void removeFromSearchIndex(Integer id) {
+        withSearchIndexLock(() -> {
+            super.removeFromSearchIndex(id);
+            return null;
+        });
+    }
+
+    @Override
+    protected void clearSearchIndex() {
+        withSearchIndexLock(() -> {
+            super.clearSearchIndex();
+            return null;
+        });
+    }
+
+    private void withStatusIndexLock(Runnable action) {
+        statusIndexLock.lock();
+        try {
+            action.run();
+        } finally {
+            statusIndexLock.unlock();
+        }
+    }
+
+    private <T> T withSearchIndexLock(Supplier<T> action) {
+        searchIndexLock.lock();
+        try {
+            return action.get();
+        } finally {
+            searchIndexLock.unlock();
+        }
+    }
+
+    // Must be called under the locks of the change, so the changed items are published before they are released
+    private <T> T change(Supplier<T> action) {
+        PendingChanges pending = pendingChanges.get();
+        ++pending.depth;
+        try {
+            return action.get();
+        } finally {
+            if (--pending.depth == 0) {
+                try {
+                    publish(pending.changes);
+                } finally {
+                    pending.changes.clear();
+                }
+            }
+        }
+    }
+
+    private void recordChange(TaskTypes type, Integer id) {
+        PendingChanges pending = pendingChanges.get();
+        if (pending.depth > 0) {
+            pending.changes.add(new BoardChange(type, id));
+        }
+    }
+
+    // Failed changes are published too, so the version is bumped for every change
+    private void publish(List<BoardChange> changes) {
+        publishLock.lock();
+        try {
+            for (BoardChange boardChange : changes) {
+                if (boardChange.id() == null) {
+                    unpublishAll(boardChange.type());
+                } else {
+                    publish(boardChange.type(), boardChange.id());
+                }
+            }
+            long newVersion = version.get() + 1;
+            snapshot = new BoardSnapshot(newVersion,
+                    publishedTasks.values(),
+                    publishedEpics.values(),
+                    publishedSubtasks.values(),
+                    publishedSchedule.values());
+            version.set(newVersion);
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publish(TaskTypes type, Integer id) {
+        switch (type) {
+            case TASK -> {
+                Task task = tasks.get(id);
+                publishedTasks = task == null ? publishedTasks.remove(id) : publishedTasks.put(id, task);
+                reschedule(id, task);
+            }
+            case SUBTASK -> {
+                Subtask subtask = subtasks.get(id);
+                publishedSubtasks = subtask == null ? publishedSubtasks.remove(id)
+                        : publishedSubtasks.put(id, subtask);
+                reschedule(id, subtask);
+            }
+            case EPIC -> {
+                Epic epic = epics.get(id);
+                publishedEpics = epic == null ? publishedEpics.remove(id) : publishedEpics.put(id, new Epic(epic));
+            }
+        }
+    }
+
+    private void unpublishAll(TaskTypes type) {
+        switch (type) {
+            case TASK -> {
+                publishedTasks.keys().forEach(id -> reschedule(id, null));
+                publishedTasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+            }
+            case SUBTASK -> {
+                publishedSubtasks.keys().forEach(id -> reschedule(id, null));
+                publishedSubtasks = PersistentSortedMap.empty(Comparator.naturalOrder());
+            }
+            case EPIC -> publishedEpics = PersistentSortedMap.empty(Comparator.naturalOrder());
+        }
+    }
+
+    // Same rule as DateTimeIndex: only Tasks with both start and duration are scheduled
+    private void reschedule(Integer id, Task task) {
+        ScheduleKey oldKey = publishedScheduleKeys.remove(id);
+        if (oldKey != null) {
+            publishedSchedule = publishedSchedule.remove(oldKey);
+        }
+        if (task != null && task.getStartDateTime() != null && task.getDuration() != null) {
+            ScheduleKey newKey = new ScheduleKey(task.getStartDateTime(), id);
+            publishedSchedule = publishedSchedule.put(newKey, task);
+            publishedScheduleKeys.put(id, newKey);
+        }
+    }
+
+    private <T> T withScheduleLock(Supplier<T> action) {
+        scheduleLock.lock();
+        try {
+            return action.get();
+        } finally {
+            scheduleLock.unlock();
+        }
+    }
+
+    // Stripes are always locked in ascending order, so two operations on the same Epics cannot deadlock
+    private <T> T withEpicLocks(Supplier<T> action, Integer... epicIDs) {
+        int[] stripes = new int[epicIDs.length];
+        for (int i = 0; i < epicIDs.length; ++i) {
+            stripes[i] = Math.floorMod(Objects.hashCode(epicIDs[i]), epicLocks.length);
+        }
+        Arrays.sort(stripes);
+
+        int lockedCnt = 0;
+        try {
+            for (int i = 0; i < stripes.length; ++i) {
+                if (i == 0 || stripes[i] != stripes[i - 1]) {
+                    epicLocks[stripes[i]].lock();
+                }
+                ++lockedCnt;
+            }
+            return action.get();
+        } finally {
+            for (int i = lockedCnt - 1; i >= 0; --i) {
+                if (i == 0 || stripes[i] != stripes[i - 1]) {
+                    epicLocks[stripes[i]].unlock();
+                }
+            }
+        }
+    }
+
+    private <T> T withAllEpicLocks(Supplier<T> action) {
+        int lockedCnt = 0;
+        try {
+            for (ReentrantLock epicLock : epicLocks) {
+                epicLock.lock();
+                ++lockedCnt;
+            }
+            return action.get();
+        } finally {
+            for (int stripe = lockedCnt - 1; stripe >= 0; --stripe) {
+                epicLocks[stripe].unlock();
+            }
+        }
+    }
+}
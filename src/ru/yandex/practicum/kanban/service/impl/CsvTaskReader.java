@@ -0,0 +1,271 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * Single-pass reader of the FileBackedTaskManager CSV format. Lines are copied into a reusable buffer
+ * and fields are parsed in place, only names and descriptions become Strings.
+ */
+public class CsvTaskReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final char DELIMITER = FileBackedTaskManager.DELIMITER.charAt(0);
+    private static final TaskTypes[] TYPES = TaskTypes.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int NANO_DIGITS = 9;
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+
+    private final Reader reader;
+    private final char[] buffer;
+    private int bufferPosition = 0;
+    private int bufferLimit = 0;
+    private char[] line = new char[256];
+    private int lineLength = 0;
+    private int fieldStart = 0;
+    private int fieldEnd = -1;
+    private long recordsCnt = 0;
+
+    public CsvTaskReader(Reader reader) {
+        this(reader, DEFAULT_BUFFER_SIZE);
+    }
+
+    private CsvTaskReader(Reader reader, int bufferSize) {
+        this.reader = reader;
+        buffer = new char[bufferSize];
+    }
+
+    public static CsvTaskReader open(Path path) throws IOException {
+        return new CsvTaskReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8));
+    }
+
+    public static Task parse(String taskAsString) {
+        try (CsvTaskReader reader = new CsvTaskReader(new StringReader(taskAsString), taskAsString.length() + 1)) {
+            Task task = reader.next();
+            if (task == null) {
+                throw new ManagerLoadException("Empty record");
+            }
+            return task;
+        } catch (IOException e) {
+            throw new ManagerLoadException(e.getMessage());
+        }
+    }
+
+    public boolean skipLine() throws IOException {
+        return readLine();
+    }
+
+    // Returns null when there are no more records
+    public Task next() throws IOException {
+        while (readLine()) {
+            if (lineLength > 0) {
+                ++recordsCnt;
+                return parseLine();
+            }
+        }
+        return null;
+    }
+
+    public long getRecordsCnt() {
+        return recordsCnt;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readLine() throws IOException {
+        lineLength = 0;
+        fieldEnd = -1;
+        boolean hasChars = false;
+
+        while (true) {
+            if (bufferPosition == bufferLimit) {
+                bufferLimit = reader.read(buffer, 0, buffer.length);
+                bufferPosition = 0;
+                if (bufferLimit <= 0) {
+                    bufferLimit = 0;
+                    return hasChars;
+                }
+            }
+            hasChars = true;
+
+            int lineEnd = bufferPosition;
+            while (lineEnd < bufferLimit && buffer[lineEnd] != '\n') {
+                ++lineEnd;
+            }
+            appendToLine(bufferPosition, lineEnd);
+
+            if (lineEnd < bufferLimit) {
+                bufferPosition = lineEnd + 1;
+                if (lineLength > 0 && line[lineLength - 1] == '\r') {
+                    --lineLength;
+                }
+                return true;
+            }
+            bufferPosition = bufferLimit;
+        }
+    }
+
+    private void appendToLine(int from, int to) {
+        int length = to - from;
+        if (lineLength + length > line.length) {
+            char[] newLine = new char[Math.max(line.length * 2, lineLength + length)];
+            System.arraycopy(line, 0, newLine, 0, lineLength);
+            line = newLine;
+        }
+        System.arraycopy(buffer, from, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private Task parseLine() {
+        nextField();
+        int id = parseInt(fieldStart, fieldEnd);
+        nextField();
+        TaskTypes type = parseEnum(TYPES);
+        nextField();
+        String name = new String(line, fieldStart, fieldEnd - fieldStart);
+        nextField();
+        LocalDateTime startDateTime = parseDateTime(fieldStart, fieldEnd);
+        nextField(); // End date&time is computed
+        nextField();
+        Duration duration = Duration.ofMinutes(parseLong(fieldStart, fieldEnd));
+        nextField();
+        TaskStatus status = parseEnum(STATUSES);
+        nextField();
+        String description = new String(line, fieldStart, fieldEnd - fieldStart);
+
+        Task task = switch (type) {
+            case TaskTypes.TASK -> new Task(name, description, startDateTime, duration);
+            case TaskTypes.EPIC -> {
+                Epic epic = new Epic(name, description);
+                epic.setStartDateTime(startDateTime);
+                epic.setDuration(duration);
+                nextField();
+                int numberOfSubtasks = parseInt(fieldStart, fieldEnd);
+                for (int subtaskIndex = 0; subtaskIndex < numberOfSubtasks; ++subtaskIndex) {
+                    nextField();
+                    epic.addSubtaskID(parseInt(fieldStart, fieldEnd));
+                }
+                yield epic;
+            }
+            case TaskTypes.SUBTASK -> {
+                Subtask subtask = new Subtask(name, description, startDateTime, duration);
+                nextField();
+                subtask.setEpicID(parseInt(fieldStart, fieldEnd));
+                yield subtask;
+            }
+        };
+
+        task.setId(id);
+        task.setStatus(status);
+        return task;
+    }
+
+    private void nextField() {
+        fieldStart = fieldEnd + 1;
+        if (fieldStart > lineLength) {
+            throw invalidRecord();
+        }
+        fieldEnd = fieldStart;
+        while (fieldEnd < lineLength && line[fieldEnd] != DELIMITER) {
+            ++fieldEnd;
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(E[] values) {
+        int length = fieldEnd - fieldStart;
+        for (E value : values) {
+            String name = value.name();
+            if (name.length() == length && name.contentEquals(CharBuffer.wrap(line, fieldStart, length))) {
+                return value;
+            }
+        }
+        throw invalidRecord();
+    }
+
+    // Parses LocalDateTime.toString() output: [+-]year-MM-ddTHH:mm[:ss[.fraction]]
+    private LocalDateTime parseDateTime(int from, int to) {
+        int position = from;
+        boolean isNegativeYear = position < to && line[position] == '-';
+        if (position < to && (line[position] == '+' || line[position] == '-')) {
+            ++position;
+        }
+        int yearEnd = position;
+        while (yearEnd < to && line[yearEnd] != '-') {
+            ++yearEnd;
+        }
+        int year = parseInt(position, yearEnd);
+        position = yearEnd + 1;
+        int month = parseInt(position, position + 2);
+        position += 3;
+        int day = parseInt(position, position + 2);
+        position += 3;
+        int hour = parseInt(position, position + 2);
+        position += 3;
+        int minute = parseInt(position, position + 2);
+        position += 2;
+
+        int second = 0;
+        int nano = 0;
+        if (position < to && line[position] == ':') {
+            second = parseInt(position + 1, position + 3);
+            position += 3;
+            if (position < to && line[position] == '.') {
+                int fractionDigits = to - position - 1;
+                if (fractionDigits > NANO_DIGITS) {
+                    throw invalidRecord();
+                }
+                nano = parseInt(position + 1, to) * POWERS_OF_TEN[NANO_DIGITS - fractionDigits];
+                position = to;
+            }
+        }
+        if (position != to) {
+            throw invalidRecord();
+        }
+
+        return LocalDateTime.of(isNegativeYear ? -year : year, month, day, hour, minute, second, nano);
+    }
+
+    private int parseInt(int from, int to) {
+        long value = parseLong(from, to);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalidRecord();
+        }
+        return (int) value;
+    }
+
+    private long parseLong(int from, int to) {
+        boolean isNegative = from < to && line[from] == '-';
+        int position = isNegative ? from + 1 : from;
+        if (position >= to || to > lineLength || to - position > 18) {
+            throw invalidRecord();
+        }
+
+        long value = 0;
+        for (; position < to; ++position) {
+            int digit = line[position] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalidRecord();
+            }
+            value = value * 10 + digit;
+        }
+        return isNegative ? -value : value;
+    }
+
+    private ManagerLoadException invalidRecord() {
+        return new ManagerLoadException("Invalid record: " + new String(line, 0, lineLength));
+    }
+}
@@ -1,78 +1,438 @@
 package ru.yandex.practicum.kanban.service.impl;
 
 import ru.yandex.practicum.kanban.model.*;
+import ru.yandex.practicum.kanban.service.impl.metrics.Histogram;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
 
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
-public class FileBackedTaskManager extends InMemoryTaskManager {
+public class FileBackedTaskManager extends InMemoryTaskManager implements AutoCloseable {
     private static final String DEFAULT_DIRECTORY = "resources";
+    private static final String JOURNAL_FILE_EXTENSION = ".journal";
+    private static final String BINARY_SNAPSHOT_FILE_EXTENSION = ".bin";
+    private static final String TEMP_FILE_EXTENSION = ".tmp";
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 1000;
+    private static final String PUT_RECORD = "PUT";
+    private static final String REMOVE_RECORD = "REMOVE";
+    private static final String CLEAR_RECORD = "CLEAR";
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+    public static final int DEFAULT_FLUSH_BATCH_SIZE = 1000;
     private final Path filePath;
+    private final Path journalPath;
+    private final Path binarySnapshotPath;
+    private final PersistenceMode mode;
+    private int journalRecordsCnt = 0;
+    private final int flushBatchSize;
+    private final ScheduledExecutorService flusher;
+    private final Duration flushInterval;
+    private boolean isFlusherStarted = false;
+    // Set when a save removed the binary snapshot, so compact() writes it again
+    private boolean isBinarySnapshotRemoved = false;
+    private int unsavedChangesCnt = 0;
+
+    private double loadThroughput = 0;
+    private Histogram saveDuration; // Not measured unless metrics are registered
 
     public static final String DELIMITER = ",";
-    protected static final int ID_INDEX = 0;
-    public static final int TYPE_INDEX = 1;
-    protected static final int NAME_INDEX = 2;
-    protected static final int START_DATE_TIME_INDEX = 3;
-    protected static final int DURATION_INDEX = 5;
-    protected static final int STATUS_INDEX = 6;
-    protected static final int DESCRIPTION_INDEX = 7;
-    private static final int EPIC_ID_INDEX = 8;
-    private static final int NUMBER_OF_SUBTASKS_INDEX = 8;
-    private static final int FILE_HEADER_INDEX = 1;
     private static final String FILE_HEADER =
             "ID,Type,Name,StartDateTime,EndDateTime,Duration,Status,Description,EpicID,NumberOfSubtasks,SubtaskIDs";
 
     public FileBackedTaskManager(String fileName) {
+        this(fileName, PersistenceMode.SNAPSHOT);
+    }
+
+    public FileBackedTaskManager(String fileName, PersistenceMode mode) {
+        this(fileName, mode, DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_BATCH_SIZE);
+    }
+
+    // Flush interval and batch size are used in WRITE_BEHIND mode only: a change is written to the file
+    // at most flushInterval after it was made, or as soon as flushBatchSize changes are collected
+    public FileBackedTaskManager(String fileName, PersistenceMode mode, Duration flushInterval, int flushBatchSize) {
         filePath = Paths.get(DEFAULT_DIRECTORY, fileName);
+        journalPath = Paths.get(DEFAULT_DIRECTORY, fileName + JOURNAL_FILE_EXTENSION);
+        binarySnapshotPath = Paths.get(DEFAULT_DIRECTORY, fileName + BINARY_SNAPSHOT_FILE_EXTENSION);
+        this.mode = mode;
+        this.flushInterval = flushInterval;
+        this.flushBatchSize = flushBatchSize;
+
+        // The thread is started by startFlusher(), so it neither sees a partly constructed manager
+        // nor outlives a failed load
+        flusher = mode == PersistenceMode.WRITE_BEHIND
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "FileBackedTaskManager-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
     }
 
     public static FileBackedTaskManager loadFromFile(String fileName) {
-        FileBackedTaskManager manager = new FileBackedTaskManager(fileName);
+        return loadFromFile(fileName, PersistenceMode.SNAPSHOT);
+    }
 
-        try {
-            List<String> fileLines = Files.readAllLines(manager.getFilePath());
-            List<Task> tasksFromFile = fileLines.stream()
-                    .skip(FILE_HEADER_INDEX)
-                    .map(FileBackedTaskManager::fromString)
-                    .toList();
+    public static FileBackedTaskManager loadFromFile(String fileName, PersistenceMode mode) {
+        return load(fileName, mode, false);
+    }
 
-            int maxID = 0;
+    // Loads the binary snapshot written by saveBinarySnapshot() or compact() instead of the CSV file.
+    // Other saves do not rewrite it, so a snapshot of another file or journal than the current ones is refused
+    public static FileBackedTaskManager loadFromBinarySnapshot(String fileName) {
+        return loadFromBinarySnapshot(fileName, PersistenceMode.SNAPSHOT);
+    }
 
-            for (Task task : tasksFromFile) {
-                int id = task.getId();
+    public static FileBackedTaskManager loadFromBinarySnapshot(String fileName, PersistenceMode mode) {
+        return load(fileName, mode, true);
+    }
 
-                switch (task.getType()) {
-                    case TaskTypes.TASK -> manager.tasks.put(id, task);
-                    case TaskTypes.EPIC -> manager.epics.put(id, (Epic) task);
-                    case TaskTypes.SUBTASK -> manager.subtasks.put(id, (Subtask) task);
+    private static FileBackedTaskManager load(String fileName, PersistenceMode mode, boolean isBinarySnapshot) {
+        FileBackedTaskManager manager = new FileBackedTaskManager(fileName, mode);
+        try {
+            manager.load(isBinarySnapshot);
+        } catch (RuntimeException e) {
+            manager.stopFlusher();
+            throw e;
+        }
+        manager.startFlusher();
+        return manager;
+    }
+
+    private void load(boolean isBinarySnapshot) {
+        boolean hasJournal = Files.exists(journalPath);
+
+        try {
+            long startNanos = System.nanoTime();
+            long recordsCnt = 0;
+
+            if (isBinarySnapshot) {
+                BinarySnapshot snapshot = BinarySnapshot.open(binarySnapshotPath);
+                checkBinarySnapshotIsCurrent(snapshot);
+                for (int index = 0; index < snapshot.size(); ++index) {
+                    restore(snapshot.getTask(index));
                 }
+                recordsCnt = snapshot.size();
+            } else if (Files.exists(filePath) || !hasJournal) {
+                // Before the first compaction a journal may exist without a file
+                try (CsvTaskReader reader = CsvTaskReader.open(filePath)) {
+                    reader.skipLine(); // File header
+                    for (Task task = reader.next(); task != null; task = reader.next()) {
+                        restore(task);
+                    }
+                    recordsCnt = reader.getRecordsCnt();
+                }
+            }
 
-                if (id > maxID) {
-                    maxID = id;
+            if (hasJournal) {
+                try (BufferedReader reader = Files.newBufferedReader(journalPath)) {
+                    replay(reader);
                 }
+                recordsCnt += journalRecordsCnt;
             }
 
-            manager.nextID = maxID + 1;
+            long loadNanos = System.nanoTime() - startNanos;
+            loadThroughput = loadNanos == 0 ? 0 : recordsCnt * 1e9 / loadNanos;
         } catch (IOException e) {
             throw new ManagerLoadException(e.getMessage());
         }
 
-        return manager;
+        try {
+            rebuildIndexes();
+        } catch (DateTimeOverlapException e) {
+            throw new ManagerLoadException("Overlapping tasks in file:" + e.getMessage());
+        }
+
+        if (hasJournal && mode != PersistenceMode.JOURNAL) {
+            compact();
+        }
+    }
+
+    // Lengths instead of modification times, which may not change when a file is written twice in one tick
+    private void checkBinarySnapshotIsCurrent(BinarySnapshot snapshot) throws IOException {
+        if (snapshot.getFileLength() != lengthOf(filePath)) {
+            throw new ManagerLoadException("Binary snapshot was not written from current " + filePath);
+        }
+        if (snapshot.getJournalLength() != lengthOf(journalPath)) {
+            throw new ManagerLoadException("Binary snapshot was not written from current " + journalPath);
+        }
+    }
+
+    private static long lengthOf(Path path) throws IOException {
+        return Files.exists(path) ? Files.size(path) : BinarySnapshot.NO_FILE_LENGTH;
     }
 
     public Path getFilePath() {
         return filePath;
     }
 
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    public Path getBinarySnapshotPath() {
+        return binarySnapshotPath;
+    }
+
+    public synchronized void saveBinarySnapshot() {
+        List<Task> allTasks = new ArrayList<>(tasks.size() + epics.size() + subtasks.size());
+        allTasks.addAll(tasks.values());
+        allTasks.addAll(epics.values());
+        allTasks.addAll(subtasks.values());
+        try {
+            BinarySnapshot.write(binarySnapshotPath, allTasks, lengthOf(filePath), lengthOf(journalPath));
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+        isBinarySnapshotRemoved = false;
+    }
+
+    @Override
+    public void registerMetrics(MetricsRegistry metricsRegistry) {
+        super.registerMetrics(metricsRegistry);
+        saveDuration = metricsRegistry.histogram("taskmanager_save_duration_seconds",
+                "Duration of writing all data to the file");
+    }
+
+    public PersistenceMode getMode() {
+        return mode;
+    }
+
+    // Records per second read by the load method that created this manager, 0 for a new manager
+    public double getLoadThroughput() {
+        return loadThroughput;
+    }
+
+    // Writes all data to the file and starts a new journal, an existing binary snapshot is rewritten too
+    public synchronized void compact() {
+        boolean hasBinarySnapshot = isBinarySnapshotRemoved || Files.exists(binarySnapshotPath);
+        save();
+        try {
+            Files.deleteIfExists(journalPath);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+        journalRecordsCnt = 0;
+        if (hasBinarySnapshot) {
+            saveBinarySnapshot();
+        }
+    }
+
+    // Writes changes collected in WRITE_BEHIND mode, other modes have nothing to flush
+    public synchronized void flush() {
+        if (unsavedChangesCnt == 0) {
+            return;
+        }
+        save();
+        unsavedChangesCnt = 0;
+    }
+
+    @Override
+    public void close() {
+        stopFlusher();
+        flush();
+    }
+
+    // Managers made by a constructor start it with their first change
+    private synchronized void startFlusher() {
+        if (flusher == null || isFlusherStarted || flusher.isShutdown()) {
+            return;
+        }
+        long flushIntervalMs = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        isFlusherStarted = true;
+    }
+
+    private void stopFlusher() {
+        if (flusher == null) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(DEFAULT_FLUSH_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void restore(Task task) {
+        Integer id = task.getId();
+
+        switch (task.getType()) {
+            case TaskTypes.TASK -> tasks.put(id, task);
+            case TaskTypes.EPIC -> epics.put(id, (Epic) task);
+            case TaskTypes.SUBTASK -> subtasks.put(id, (Subtask) task);
+        }
+
+        if (id >= nextID) {
+            nextID = id + 1;
+        }
+    }
+
+    private void restoreFromJournal(Task task) {
+        // Journal has no Epic record for a new Subtask, so the Epic is linked here
+        if (task instanceof Subtask subtask && !subtasks.containsKey(subtask.getId())) {
+            Epic epic = epics.get(subtask.getEpicID());
+            if (epic != null && !epic.getAllSubtaskIDs().contains(subtask.getId())) {
+                epic.addSubtaskID(subtask.getId());
+            }
+        }
+        restore(task);
+    }
+
+    private void replay(BufferedReader journalReader) throws IOException {
+        int recordsCnt = 0;
+        String record = journalReader.readLine();
+
+        while (record != null) {
+            String nextRecord = journalReader.readLine();
+            ++recordsCnt;
+            try {
+                replay(record);
+            } catch (RuntimeException e) {
+                // The last record may be cut off by a crash during append
+                if (nextRecord != null) {
+                    throw new ManagerLoadException("Invalid journal record: " + record);
+                }
+            }
+            record = nextRecord;
+        }
+        journalRecordsCnt = recordsCnt;
+    }
+
+    private void replay(String record) {
+        int delimiterIndex = record.indexOf(DELIMITER);
+        String operation = record.substring(0, delimiterIndex);
+        String argument = record.substring(delimiterIndex + 1);
+
+        switch (operation) {
+            case PUT_RECORD -> restoreFromJournal(fromString(argument));
+            case REMOVE_RECORD -> {
+                String[] typeAndID = argument.split(DELIMITER);
+                Integer id = Integer.parseInt(typeAndID[1]);
+                switch (TaskTypes.valueOf(typeAndID[0])) {
+                    case TaskTypes.TASK -> tasks.remove(id);
+                    case TaskTypes.SUBTASK -> {
+                        Subtask subtask = subtasks.remove(id);
+                        if (subtask != null && epics.containsKey(subtask.getEpicID())) {
+                            epics.get(subtask.getEpicID()).removeSubtaskByID(id);
+                        }
+                    }
+                    case TaskTypes.EPIC -> {
+                        Epic epic = epics.remove(id);
+                        if (epic != null) {
+                            epic.getAllSubtaskIDs().forEach(subtasks::remove);
+                        }
+                    }
+                }
+            }
+            case CLEAR_RECORD -> {
+                switch (TaskTypes.valueOf(argument)) {
+                    case TaskTypes.TASK -> tasks.clear();
+                    case TaskTypes.SUBTASK -> {
+                        subtasks.clear();
+                        epics.values().forEach(Epic::removeAllSubtaskIDs);
+                    }
+                    case TaskTypes.EPIC -> {
+                        subtasks.clear();
+                        epics.clear();
+                    }
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown journal operation: " + operation);
+        }
+    }
+
+    private void saveChange(Supplier<String> journalRecord) {
+        saveChanges(1, () -> List.of(journalRecord.get()));
+    }
+
+    /*
+     * Changes made by one call are saved together: one file write, one flush request or one journal append.
+     * Journal records are built only in JOURNAL mode, the other modes write the whole board instead.
+     */
+    private void saveChanges(int changesCnt, Supplier<List<String>> journalRecords) {
+        if (mode == PersistenceMode.SNAPSHOT) {
+            save();
+            return;
+        }
+
+        if (mode == PersistenceMode.WRITE_BEHIND) {
+            startFlusher();
+            int prevUnsavedChangesCnt = unsavedChangesCnt;
+            unsavedChangesCnt += changesCnt;
+            boolean isBatchCollected = prevUnsavedChangesCnt < flushBatchSize && unsavedChangesCnt >= flushBatchSize;
+            if (isBatchCollected || flusher.isShutdown()) {
+                try {
+                    flusher.execute(this::flush);
+                } catch (RejectedExecutionException e) { // Manager is closed, nobody else will flush
+                    flush();
+                }
+            }
+            return;
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(journalPath,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String journalRecord : journalRecords.get()) {
+                writer.write(journalRecord);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
+
+        journalRecordsCnt += changesCnt;
+        if (journalRecordsCnt >= JOURNAL_COMPACTION_THRESHOLD) {
+            compact();
+        }
+    }
+
+    private String putRecord(Task task) {
+        return String.join(DELIMITER, PUT_RECORD, toString(task));
+    }
+
+    private String putRecord(Subtask subtask) {
+        return String.join(DELIMITER, PUT_RECORD, toString(subtask));
+    }
+
+    private String putRecord(Epic epic) {
+        return String.join(DELIMITER, PUT_RECORD, toString(epic));
+    }
+
+    private static String removeRecord(TaskTypes type, Integer id) {
+        return String.join(DELIMITER, REMOVE_RECORD, type.toString(), id.toString());
+    }
+
+    private static String clearRecord(TaskTypes type) {
+        return String.join(DELIMITER, CLEAR_RECORD, type.toString());
+    }
+
     private void save() {
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
+        if (saveDuration != null) {
+            saveDuration.time(this::writeFile);
+        } else {
+            writeFile();
+        }
+    }
+
+    // The file is replaced only when completely written, so a crash during save keeps the previous version
+    private void writeFile() {
+        Path tempFilePath = Paths.get(filePath + TEMP_FILE_EXTENSION);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFilePath)) {
             writer.write(FILE_HEADER);
             for (Task task : tasks.values()) {
                 writer.newLine();
@@ -91,13 +451,28 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         } catch (IOException e) {
             throw new ManagerSaveException(e.getMessage());
         }
+
+        // A file of the same length may replace the one the binary snapshot was written from, so it is removed first
+        try {
+            if (Files.deleteIfExists(binarySnapshotPath)) {
+                isBinarySnapshotRemoved = true;
+            }
+            Files.move(tempFilePath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ManagerSaveException(e.getMessage());
+        }
     }
 
     public String toString(Task task) {
+        return toString(task, TaskTypes.TASK);
+    }
+
+    // The type is given by the caller, which knows the class of the item, the type field of the object may be wrong
+    private String toString(Task task, TaskTypes type) {
         long duration = task.getDuration().toMinutes();
         return String.join(DELIMITER,
                 task.getId().toString(),
-                task.getType().toString(),
+                type.toString(),
                 task.getName(),
                 task.getStartDateTime().toString(),
                 task.getEndDateTime().toString(),
@@ -107,11 +482,11 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     public String toString(Subtask subtask) {
-        return String.join(DELIMITER, toString((Task) subtask), subtask.getEpicID().toString());
+        return String.join(DELIMITER, toString(subtask, TaskTypes.SUBTASK), subtask.getEpicID().toString());
     }
 
     public String toString(Epic epic) {
-        StringBuilder builder = new StringBuilder(toString((Task) epic));
+        StringBuilder builder = new StringBuilder(toString(epic, TaskTypes.EPIC));
         builder.append(DELIMITER).append(epic.getAllSubtaskIDs().size());
         epic.getAllSubtaskIDs().forEach(id -> builder.append(DELIMITER).append(id.toString()));
 
@@ -119,124 +494,123 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     public static Task fromString(String taskAsString) {
-        String[] fields = taskAsString.split(DELIMITER);
-
-        Integer id = Integer.parseInt(fields[ID_INDEX]);
-        TaskTypes type = TaskTypes.valueOf(fields[TYPE_INDEX]);
-        String name = fields[NAME_INDEX];
-        LocalDateTime startDateTime = LocalDateTime.parse(fields[START_DATE_TIME_INDEX]);
-        Duration duration = Duration.ofMinutes(Long.parseLong(fields[DURATION_INDEX]));
-        TaskStatus status = TaskStatus.valueOf(fields[STATUS_INDEX]);
-        String description = fields[DESCRIPTION_INDEX];
-
-        Task task = null;
-
-        switch (type) {
-            case TaskTypes.TASK -> task = new Task(name, description, startDateTime, duration);
-            case TaskTypes.EPIC -> {
-                Epic epic = new Epic(name, description);
-                epic.setStartDateTime(startDateTime);
-                epic.setDuration(duration);
-                int numberOfSubtasks = Integer.parseInt(fields[NUMBER_OF_SUBTASKS_INDEX]);
-
-                for (int subtaskIndex = 0; subtaskIndex < numberOfSubtasks; ++subtaskIndex) {
-                    int parseIndex = subtaskIndex + NUMBER_OF_SUBTASKS_INDEX + 1;
-                    Integer subtaskID = Integer.parseInt(fields[parseIndex]);
-                    epic.addSubtaskID(subtaskID);
-                }
-
-                task = epic;
-            }
-            case TaskTypes.SUBTASK -> {
-                Subtask subtask = new Subtask(name, description, startDateTime, duration);
-                Integer epicID = Integer.parseInt(fields[EPIC_ID_INDEX]);
-                subtask.setEpicID(epicID);
-                task = subtask;
-            }
-        }
-
-        task.setId(id);
-        task.setStatus(status);
-        task.setType(type);
-
-        return task;
+        return CsvTaskReader.parse(taskAsString);
     }
 
     // Tasks methods
     @Override
-    public Integer createTask(Task task) {
+    public synchronized Integer createTask(Task task) {
         Integer id = super.createTask(task);
-        save();
+        saveChange(() -> putRecord(task));
         return id;
     }
 
     @Override
-    public void updateTask(Task task) {
+    public synchronized List<Integer> createTasks(List<Task> newTasks) {
+        List<Integer> ids = super.createTasks(newTasks);
+        saveChanges(newTasks.size(), () -> newTasks.stream()
+                .map(this::putRecord)
+                .toList());
+        return ids;
+    }
+
+    // Saved by createTask(), the lock keeps the free slot until the Task is in it
+    @Override
+    public synchronized Integer createTaskInFreeSlot(Task task) {
+        return super.createTaskInFreeSlot(task);
+    }
+
+    @Override
+    public synchronized void updateTask(Task task) {
         super.updateTask(task);
-        save();
+        saveChange(() -> putRecord(task));
     }
 
     @Override
-    public void removeTaskByID(Integer id) {
+    public synchronized void removeTaskByID(Integer id) {
+        if (!tasks.containsKey(id)) {
+            return;
+        }
         super.removeTaskByID(id);
-        save();
+        saveChange(() -> removeRecord(TaskTypes.TASK, id));
     }
 
     @Override
-    public void removeAllTasks() {
+    public synchronized void removeAllTasks() {
         super.removeAllTasks();
-        save();
+        saveChange(() -> clearRecord(TaskTypes.TASK));
     }
 
     // Subtasks methods
     @Override
-    public Integer createSubtask(Subtask subtask) {
+    public synchronized Integer createSubtask(Subtask subtask) {
         Integer id = super.createSubtask(subtask);
-        save();
+        saveChange(() -> putRecord(subtask));
         return id;
     }
 
     @Override
-    public void updateSubtask(Subtask subtask) {
+    public synchronized List<Integer> createSubtasks(List<Subtask> newSubtasks) {
+        List<Integer> ids = super.createSubtasks(newSubtasks);
+        saveChanges(newSubtasks.size(), () -> newSubtasks.stream()
+                .map(this::putRecord)
+                .toList());
+        return ids;
+    }
+
+    // Saved by createSubtask(), the lock keeps the free slot until the Subtask is in it
+    @Override
+    public synchronized Integer createSubtaskInFreeSlot(Subtask subtask) {
+        return super.createSubtaskInFreeSlot(subtask);
+    }
+
+    @Override
+    public synchronized void updateSubtask(Subtask subtask) {
         super.updateSubtask(subtask);
-        save();
+        saveChange(() -> putRecord(subtask));
     }
 
     @Override
-    public void removeSubtaskByID(Integer subtaskID) {
+    public synchronized void removeSubtaskByID(Integer subtaskID) {
+        if (!subtasks.containsKey(subtaskID)) {
+            return;
+        }
         super.removeSubtaskByID(subtaskID);
-        save();
+        saveChange(() -> removeRecord(TaskTypes.SUBTASK, subtaskID));
     }
 
     @Override
-    public void removeAllSubtasks() {
+    public synchronized void removeAllSubtasks() {
         super.removeAllSubtasks();
-        save();
+        saveChange(() -> clearRecord(TaskTypes.SUBTASK));
     }
 
     // Epics methods
     @Override
-    public Integer createEpic(Epic epic) {
+    public synchronized Integer createEpic(Epic epic) {
         Integer id = super.createEpic(epic);
-        save();
+        saveChange(() -> putRecord(epic));
         return id;
     }
 
     @Override
-    public void updateEpic(Epic epic) {
+    public synchronized void updateEpic(Epic epic) {
         super.updateEpic(epic);
-        save();
+        saveChange(() -> putRecord(epic));
     }
 
     @Override
-    public void removeEpicByID(Integer epicID) {
+    public synchronized void removeEpicByID(Integer epicID) {
+        if (!epics.containsKey(epicID)) {
+            return;
+        }
         super.removeEpicByID(epicID);
-        save();
+        saveChange(() -> removeRecord(TaskTypes.EPIC, epicID));
     }
 
     @Override
-    public void removeAllEpic() {
+    public synchronized void removeAllEpic() {
         super.removeAllEpic();
-        save();
+        saveChange(() -> clearRecord(TaskTypes.EPIC));
     }
 }
\ No newline at end of file
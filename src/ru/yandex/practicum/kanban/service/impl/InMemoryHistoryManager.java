@@ -1,79 +1,39 @@
 package ru.yandex.practicum.kanban.service.impl;
 
-import ru.yandex.practicum.kanban.model.*;
+import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.service.api.HistoryManager;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
 
+/*
+ * Views are appended to an array, a repeated view or a remove leaves an empty slot behind.
+ * Empty slots are squeezed out when the array is full, so add and remove are O(1) amortized.
+ * With maxSize, the oldest view is evicted when the history is full.
+ * The history keeps the viewed Task objects themselves, not copies: a task changed after its view
+ * is shown in its current state.
+ */
 public class InMemoryHistoryManager implements HistoryManager {
-    private final TaskLinkedList taskList = new TaskLinkedList();
-    private final Map<Integer, Node> taskIdToNode = new HashMap<>();
-
-    private static class TaskLinkedList {
-        private Node head = null;
-        private Node tail = null;
-        private int size = 0;
-
-        private Node linkLast(Task task) {
-            if (task == null) {
-                return null;
-            }
-            Node oldTail = tail;
-            Task taskCopy = new Task(task);
-            Node newNode = new Node(oldTail, taskCopy, null);
-            tail = newNode;
-
-            if (oldTail == null) {
-                head = tail;
-            } else {
-                oldTail.setNext(newNode);
-            }
-
-            ++size;
-            return tail;
-        }
-
-        private void removeNode(Node node) {
-            if (node == null) {
-                return;
-            }
-            Node prev = node.getPrev();
-            Node next = node.getNext();
-
-            if (prev == null) {
-                head = next;
-            } else {
-                prev.setNext(next);
-                node.setPrev(null);
-            }
-
-            if (next == null) {
-                tail = prev;
-            } else {
-                next.setPrev(prev);
-                node.setNext(null);
-            }
-
-            node.setTask(null);
-            --size;
-        }
-
-        private List<Task> getTasks() {
-            if (head == null) {
-                return null;
-            }
-            ArrayList<Task> tasks = new ArrayList<>();
-            Node currNode = head;
+    private static final int INITIAL_CAPACITY = 16;
+    private Task[] views = new Task[INITIAL_CAPACITY];
+    // Slots before viewsStart and from viewsEnd on are empty
+    private int viewsStart = 0;
+    private int viewsEnd = 0;
+    private int size = 0;
+    private final int maxSize;
+    private final Map<Integer, Integer> idToSlot = new HashMap<>();
+
+    public InMemoryHistoryManager() {
+        this(Integer.MAX_VALUE);
+    }
 
-            while (currNode != null) {
-                tasks.add(currNode.getTask());
-                currNode = currNode.getNext();
-            }
-            return tasks;
+    public InMemoryHistoryManager(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("History size must be positive!");
         }
+        this.maxSize = maxSize;
     }
 
     @Override
@@ -81,28 +41,91 @@ public class InMemoryHistoryManager implements HistoryManager {
         if (task == null) {
             return;
         }
-        int id = task.getId();
+        Integer id = task.getId();
+        Integer slot = idToSlot.get(id);
 
-        if (taskIdToNode.containsKey(id)) {
-            Node node = taskIdToNode.get(id);
-            taskList.removeNode(node);
+        if (slot != null && slot == viewsEnd - 1) {
+            views[slot] = task; // Already the last view
+            return;
+        }
+        if (slot != null) {
+            views[slot] = null;
+            --size;
         }
+        if (viewsEnd == views.length) {
+            compact();
+        }
+
+        views[viewsEnd] = task;
+        idToSlot.put(id, viewsEnd++);
+        ++size;
 
-        Node node = taskList.linkLast(task);
-        taskIdToNode.put(id, node);
+        if (size > maxSize) {
+            removeOldest();
+        }
     }
 
     @Override
     public void remove(int id) {
-        if (taskIdToNode.containsKey(id)) {
-            Node node = taskIdToNode.get(id);
-            taskList.removeNode(node);
-            taskIdToNode.remove(id);
+        Integer slot = idToSlot.remove(id);
+        if (slot != null) {
+            views[slot] = null;
+            --size;
         }
     }
 
     @Override
     public List<Task> getHistory() {
-        return taskList.getTasks();
+        return getHistory(size);
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        if (size == 0) {
+            return null;
+        }
+        int historySize = Math.min(Math.max(limit, 0), size);
+        Task[] history = new Task[historySize];
+        int historyIndex = historySize;
+
+        for (int slot = viewsEnd - 1; slot >= 0 && historyIndex > 0; --slot) {
+            if (views[slot] != null) {
+                history[--historyIndex] = views[slot];
+            }
+        }
+        return Arrays.asList(history);
+    }
+
+    private void removeOldest() {
+        while (views[viewsStart] == null) {
+            ++viewsStart;
+        }
+        idToSlot.remove(views[viewsStart].getId());
+        views[viewsStart++] = null;
+        --size;
+    }
+
+    // Moves views to the beginning of the array, and grows it if less than half of it is free afterwards
+    private void compact() {
+        Task[] compactedViews = size * 2 > views.length ? new Task[views.length * 2] : views;
+        int compactedEnd = 0;
+
+        for (int slot = viewsStart; slot < viewsEnd; ++slot) {
+            Task task = views[slot];
+            if (task != null) {
+                if (compactedEnd != slot || compactedViews != views) {
+                    compactedViews[compactedEnd] = task;
+                    idToSlot.put(task.getId(), compactedEnd);
+                }
+                ++compactedEnd;
+            }
+        }
+        for (int slot = compactedEnd; slot < viewsEnd && compactedViews == views; ++slot) {
+            views[slot] = null;
+        }
+
+        views = compactedViews;
+        viewsStart = 0;
+        viewsEnd = compactedEnd;
     }
-}
\ No newline at end of file
+}
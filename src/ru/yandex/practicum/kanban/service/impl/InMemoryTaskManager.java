@@ -3,6 +3,8 @@ package ru.yandex.practicum.kanban.service.impl;
 import ru.yandex.practicum.kanban.model.*;
 import ru.yandex.practicum.kanban.service.api.*;
 import ru.yandex.practicum.kanban.service.Managers;
+import ru.yandex.practicum.kanban.service.impl.metrics.Histogram;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -10,17 +12,64 @@ import java.util.*;
 
 public class InMemoryTaskManager implements TaskManager {
     protected Integer nextID = 1;
-    protected final Map<Integer, Task> tasks = new HashMap<>();
-    protected final Map<Integer, Epic> epics = new HashMap<>();
-    protected final Map<Integer, Subtask> subtasks = new HashMap<>();
-    protected final HistoryManager historyManager = Managers.getDefaultHistory();
-    protected final TreeSet<Task> tasksSortedByDateTime =
-            new TreeSet<>(Comparator.comparing(Task::getStartDateTime));
+    protected final NavigableMap<Integer, Task> tasks;
+    protected final NavigableMap<Integer, Epic> epics;
+    protected final NavigableMap<Integer, Subtask> subtasks;
+    protected final HistoryManager historyManager;
+    protected final DateTimeIndex tasksSortedByDateTime = new DateTimeIndex();
+    protected final StatusIndex idsByStatus = new StatusIndex();
+    protected final SearchIndex searchIndex = new SearchIndex();
+    private long version = 0;
+    private Histogram scheduleDuration; // Not measured unless metrics are registered
+
+    public InMemoryTaskManager() {
+        this(new TreeMap<>(), new TreeMap<>(), new TreeMap<>(), Managers.getDefaultHistory());
+    }
+
+    // Lets subclasses choose storage and history implementations, the maps must be empty.
+    // Maps are ordered by ID, so a page of items is found in O(log n + page size)
+    protected InMemoryTaskManager(NavigableMap<Integer, Task> tasks, NavigableMap<Integer, Epic> epics,
+                                  NavigableMap<Integer, Subtask> subtasks, HistoryManager historyManager) {
+        this.tasks = tasks;
+        this.epics = epics;
+        this.subtasks = subtasks;
+        this.historyManager = historyManager;
+    }
+
+    // Adds timings of internal steps, which a decorator like InstrumentedTaskManager cannot see
+    public void registerMetrics(MetricsRegistry metricsRegistry) {
+        scheduleDuration = metricsRegistry.histogram("taskmanager_schedule_validation_duration_seconds",
+                "Duration of date&time overlap validation and schedule update");
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
 
     @Override
     public List<Task> getPrioritizedTasks() {
-        return tasksSortedByDateTime.stream()
-                .toList();
+        return tasksSortedByDateTime.getTasks();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartDateTime, Integer afterID, int limit) {
+        return tasksSortedByDateTime.getTasks(afterStartDateTime, afterID, limit);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return tasksSortedByDateTime.getTasksBetween(from, to, limit);
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime after) {
+        return tasksSortedByDateTime.findFreeSlot(duration, after);
+    }
+
+    @Override
+    public List<Integer> search(String query, int limit) {
+        return searchIndex.search(query, limit);
     }
 
     @Override
@@ -28,6 +77,11 @@ public class InMemoryTaskManager implements TaskManager {
         return historyManager.getHistory();
     }
 
+    @Override
+    public List<Task> getHistory(int limit) {
+        return historyManager.getHistory(limit);
+    }
+
     // Tasks methods
     @Override
     public List<Task> getAllTasks() {
@@ -35,6 +89,21 @@ public class InMemoryTaskManager implements TaskManager {
                 .toList();
     }
 
+    @Override
+    public int getTasksCnt() {
+        return tasks.size();
+    }
+
+    @Override
+    public List<Task> getTasksPage(Integer afterID, int limit) {
+        return getPage(tasks, afterID, limit);
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return getByStatus(tasks, TaskTypes.TASK, status);
+    }
+
     @Override
     public Task getTaskByID(Integer id) {
         Task task = tasks.get(id);
@@ -47,43 +116,73 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Integer createTask(Task task) {
-        Integer id = nextID++;
+        boardChanged();
+        Integer id = generateID();
         task.setId(id);
+        addToSchedule(task);
         tasks.put(id, task);
+        addToStatusIndex(task);
+        addToSearchIndex(task);
 
-        if (validateByDateTime(task)) {
-            tasksSortedByDateTime.add(task);
+        return id;
+    }
+
+    @Override
+    public List<Integer> createTasks(List<Task> newTasks) {
+        boardChanged();
+        addAllToSchedule(newTasks);
+        List<Integer> ids = new ArrayList<>(newTasks.size());
+        for (Task task : newTasks) {
+            tasks.put(task.getId(), task);
+            addToStatusIndex(task);
+            addToSearchIndex(task);
+            ids.add(task.getId());
         }
 
-        return id;
+        return ids;
+    }
+
+    @Override
+    public Integer createTaskInFreeSlot(Task task) {
+        placeInFreeSlot(task);
+        return createTask(task);
     }
 
     @Override
     public void updateTask(Task task) {
+        boardChanged();
         if (!tasks.containsKey(task.getId())) {
             throw new IllegalArgumentException("Task " + task.getName() + " was not created!");
         }
+        addToSchedule(task);
         tasks.put(task.getId(), task);
-
-        if (validateByDateTime(task)) {
-            tasksSortedByDateTime.add(task);
-        }
+        addToStatusIndex(task);
+        addToSearchIndex(task);
     }
 
     @Override
     public void removeTaskByID(Integer id) {
-        tasksSortedByDateTime.remove(tasks.get(id));
+        boardChanged();
+        if (!tasks.containsKey(id)) {
+            return;
+        }
+        removeFromSchedule(id);
+        removeFromStatusIndex(TaskTypes.TASK, id);
+        removeFromSearchIndex(id);
         tasks.remove(id);
         historyManager.remove(id);
     }
 
     @Override
     public void removeAllTasks() {
+        boardChanged();
         for (Integer taskID : tasks.keySet()) {
-            tasksSortedByDateTime.remove(tasks.get(taskID));
+            removeFromSchedule(taskID);
+            removeFromSearchIndex(taskID);
             historyManager.remove(taskID);
         }
         tasks.clear();
+        clearStatusIndex(TaskTypes.TASK);
     }
 
     // Subtasks methods
@@ -93,6 +192,21 @@ public class InMemoryTaskManager implements TaskManager {
                 .toList();
     }
 
+    @Override
+    public int getSubtasksCnt() {
+        return subtasks.size();
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(Integer afterID, int limit) {
+        return getPage(subtasks, afterID, limit);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return getByStatus(subtasks, TaskTypes.SUBTASK, status);
+    }
+
     @Override
     public Subtask getSubtaskByID(Integer id) {
         Subtask subtask = subtasks.get(id);
@@ -105,72 +219,117 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Integer createSubtask(Subtask subtask) {
+        boardChanged();
         Integer epicID = subtask.getEpicID();
         if (!epics.containsKey(epicID)) {
             throw new IllegalArgumentException("Epic with ID=" + epicID + " was not created!");
         }
-        Integer subtaskID = nextID++;
+        Integer subtaskID = generateID();
         subtask.setId(subtaskID);
+        addToSchedule(subtask);
         subtasks.put(subtaskID, subtask);
 
-        if (validateByDateTime(subtask)) {
-            tasksSortedByDateTime.add(subtask);
-        }
-
         Epic epic = epics.get(epicID);
         epic.addSubtaskID(subtaskID);
-
-        syncEpicStatus(epicID);
-        computeEpicTiming(epicID);
+        epic.trackSubtask(subtask);
+        addToStatusIndex(subtask);
+        addToStatusIndex(epic);
+        addToSearchIndex(subtask);
 
         return subtaskID;
     }
 
+    @Override
+    public Integer createSubtaskInFreeSlot(Subtask subtask) {
+        placeInFreeSlot(subtask);
+        return createSubtask(subtask);
+    }
+
+    // Every Epic is recomputed once, after all of its new Subtasks are added
+    @Override
+    public List<Integer> createSubtasks(List<Subtask> newSubtasks) {
+        boardChanged();
+        for (Subtask subtask : newSubtasks) {
+            if (!epics.containsKey(subtask.getEpicID())) {
+                throw new IllegalArgumentException("Epic with ID=" + subtask.getEpicID() + " was not created!");
+            }
+        }
+        addAllToSchedule(newSubtasks);
+
+        List<Integer> ids = new ArrayList<>(newSubtasks.size());
+        Set<Integer> epicIDs = new LinkedHashSet<>();
+        for (Subtask subtask : newSubtasks) {
+            Integer subtaskID = subtask.getId();
+            subtasks.put(subtaskID, subtask);
+            addToStatusIndex(subtask);
+            addToSearchIndex(subtask);
+            epics.get(subtask.getEpicID()).addSubtaskID(subtaskID);
+            epicIDs.add(subtask.getEpicID());
+            ids.add(subtaskID);
+        }
+        epicIDs.forEach(this::syncEpic);
+
+        return ids;
+    }
+
     @Override
     public void updateSubtask(Subtask subtask) {
+        boardChanged();
         if (!subtasks.containsKey(subtask.getId())) {
             throw new IllegalArgumentException("Subtask " + subtask.getName() + " was not created!");
         }
-        subtasks.put(subtask.getId(), subtask);
-
-        if (validateByDateTime(subtask)) {
-            tasksSortedByDateTime.add(subtask);
+        Integer epicID = subtask.getEpicID();
+        if (!epics.containsKey(epicID)) {
+            throw new IllegalArgumentException("Epic with ID=" + epicID + " was not created!");
         }
+        Epic epic = epics.get(epicID);
+        // The previous Epic is unknown if the stored Subtask itself was changed, so a Subtask cannot be moved
+        if (!epic.containsSubtask(subtask.getId())) {
+            throw new IllegalArgumentException("Subtask " + subtask.getName() + " cannot be moved to another Epic!");
+        }
+        addToSchedule(subtask);
+        subtasks.put(subtask.getId(), subtask);
 
-        syncEpicStatus(subtask.getEpicID());
-        computeEpicTiming(subtask.getEpicID());
+        epic.trackSubtask(subtask);
+        addToStatusIndex(subtask);
+        addToStatusIndex(epic);
+        addToSearchIndex(subtask);
     }
 
     @Override
     public void removeSubtaskByID(Integer subtaskID) {
+        boardChanged();
         if (!subtasks.containsKey(subtaskID)) {
             return;
         }
         Subtask subtask = subtasks.get(subtaskID);
-        tasksSortedByDateTime.remove(subtask);
+        removeFromSchedule(subtaskID);
         Integer epicID = subtask.getEpicID();
         Epic epic = epics.get(epicID);
         epic.removeSubtaskByID(subtaskID);
         subtasks.remove(subtaskID);
+        removeFromStatusIndex(TaskTypes.SUBTASK, subtaskID);
+        removeFromSearchIndex(subtaskID);
+        addToStatusIndex(epic);
         historyManager.remove(subtaskID);
-
-        syncEpicStatus(epicID);
-        computeEpicTiming(epicID);
     }
 
     @Override
     public void removeAllSubtasks() {
+        boardChanged();
         for (Integer subtaskID : subtasks.keySet()) {
-            tasksSortedByDateTime.remove(subtasks.get(subtaskID));
+            removeFromSchedule(subtaskID);
+            removeFromSearchIndex(subtaskID);
             historyManager.remove(subtaskID);
         }
         subtasks.clear();
+        clearStatusIndex(TaskTypes.SUBTASK);
 
         for (Epic epic : epics.values()) {
             epic.removeAllSubtaskIDs();
-            epic.setStatus(TaskStatus.NEW);
             epic.setStartDateTime(LocalDateTime.now());
             epic.setDuration(Duration.ZERO);
+            addToStatusIndex(epic);
         }
     }
 
@@ -181,6 +340,21 @@ public class InMemoryTaskManager implements TaskManager {
                 .toList();
     }
 
+    @Override
+    public int getEpicsCnt() {
+        return epics.size();
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(Integer afterID, int limit) {
+        return getPage(epics, afterID, limit);
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return getByStatus(epics, TaskTypes.EPIC, status);
+    }
+
     @Override
     public Epic getEpicByID(Integer id) {
         Epic epic = epics.get(id);
@@ -205,125 +379,210 @@ public class InMemoryTaskManager implements TaskManager {
 
     @Override
     public Integer createEpic(Epic epic) {
-        Integer id = nextID++;
+        boardChanged();
+        Integer id = generateID();
         epic.setId(id);
         epics.put(id, epic);
+        syncEpic(id);
+        addToSearchIndex(epic);
         return id;
     }
 
     @Override
     public void updateEpic(Epic epic) {
+        boardChanged();
         Integer id = epic.getId();
         if (!epics.containsKey(id)) {
             throw new IllegalArgumentException("Epic " + epic.getName() + " was not created!");
         }
 
         epics.put(id, epic);
-        syncEpicStatus(id);
-        computeEpicTiming(id);
+        syncEpic(id);
+        addToSearchIndex(epic);
     }
 
     @Override
     public void removeEpicByID(Integer epicID) {
+        boardChanged();
         if (!epics.containsKey(epicID)) {
             return;
         }
         Epic epic = epics.get(epicID);
 
         for (Integer subtaskID : epic.getAllSubtaskIDs()) {
-            tasksSortedByDateTime.remove(subtasks.get(subtaskID));
+            removeFromSchedule(subtaskID);
+            removeFromStatusIndex(TaskTypes.SUBTASK, subtaskID);
+            removeFromSearchIndex(subtaskID);
             subtasks.remove(subtaskID);
             historyManager.remove(subtaskID);
         }
 
         epics.remove(epicID);
+        removeFromStatusIndex(TaskTypes.EPIC, epicID);
+        removeFromSearchIndex(epicID);
         historyManager.remove(epicID);
     }
 
     @Override
     public void removeAllEpic() {
+        boardChanged();
         for (Integer subtaskID : subtasks.keySet()) {
-            tasksSortedByDateTime.remove(subtasks.get(subtaskID));
+            removeFromSchedule(subtaskID);
+            removeFromSearchIndex(subtaskID);
             historyManager.remove(subtaskID);
         }
         subtasks.clear();
+        clearStatusIndex(TaskTypes.SUBTASK);
 
         epics.keySet().forEach(historyManager::remove);
+        epics.keySet().forEach(this::removeFromSearchIndex);
         epics.clear();
+        clearStatusIndex(TaskTypes.EPIC);
     }
 
-    private void syncEpicStatus(Integer epicID) {
-        List<Subtask> subtasksInEpic = getAllSubtasksByEpicID(epicID); // Also checks that epics contains epicID
+    // Full rebuild, needed only when an Epic instance is (re)registered; Subtask changes are tracked incrementally
+    protected void syncEpic(Integer epicID) {
         Epic epic = epics.get(epicID);
-        if (subtasksInEpic.isEmpty()) {
-            epic.setStatus(TaskStatus.NEW);
-            return;
-        }
+        List<Subtask> epicSubtasks = new ArrayList<>(epic.getAllSubtaskIDs().size());
 
-        int newSubtasksCnt = 0;
-        int doneSubtasksCnt = 0;
-        for (Subtask currSubtask : subtasksInEpic) {
-            TaskStatus subtaskStatus = currSubtask.getStatus();
-            if (subtaskStatus == TaskStatus.IN_PROGRESS) {
-                break;
-            } else if (subtaskStatus == TaskStatus.NEW) {
-                ++newSubtasksCnt;
-            } else if (subtaskStatus == TaskStatus.DONE) {
-                ++doneSubtasksCnt;
+        for (Integer subtaskID : epic.getAllSubtaskIDs()) {
+            Subtask subtask = subtasks.get(subtaskID);
+            if (subtask != null) {
+                epicSubtasks.add(subtask);
             }
         }
+        epic.trackSubtasks(epicSubtasks);
+        addToStatusIndex(epic);
+    }
 
-        TaskStatus epicStatus;
-        if (newSubtasksCnt == subtasksInEpic.size()) {
-            epicStatus = TaskStatus.NEW;
-        } else if (doneSubtasksCnt == subtasksInEpic.size()) {
-            epicStatus = TaskStatus.DONE;
-        } else {
-            epicStatus = TaskStatus.IN_PROGRESS;
-        }
-        epic.setStatus(epicStatus);
+    // Rebuilds everything derived from the maps after they were filled directly, e.g. on load
+    protected void rebuildIndexes() {
+        List<Task> timedTasks = new ArrayList<>(tasks.size() + subtasks.size());
+        timedTasks.addAll(tasks.values());
+        timedTasks.addAll(subtasks.values());
+
+        tasksSortedByDateTime.clear();
+        tasksSortedByDateTime.addAll(timedTasks)
+                .ifPresent(t -> {
+                    throw new DateTimeOverlapException("\n" + t);
+                });
+        clearStatusIndex();
+        timedTasks.forEach(this::addToStatusIndex);
+        clearSearchIndex();
+        timedTasks.forEach(this::addToSearchIndex);
+        epics.values().forEach(this::addToSearchIndex);
+        epics.keySet().forEach(this::syncEpic);
     }
 
-    private void computeEpicTiming(Integer epicID) {
-        Epic epic = epics.get(epicID);
+    public static boolean checkDateTimeOverlap(Task task1, Task task2) {
+        return task1.getStartDateTime().isBefore(task2.getEndDateTime()) &&
+                task1.getEndDateTime().isAfter(task2.getStartDateTime());
+    }
+
+    // Called before every change of the board, failed changes included
+    protected void boardChanged() {
+        ++version;
+    }
+
+    protected Integer generateID() {
+        return nextID++;
+    }
 
-        List<Subtask> subtasksInEpic = getPrioritizedTasks().stream()
-                .filter(task -> task.getType() == TaskTypes.SUBTASK)
-                .map(task -> (Subtask) task)
-                .filter(subtask -> subtask.getEpicID().equals(epicID))
+    private static <T extends Task> List<T> getPage(NavigableMap<Integer, T> items, Integer afterID, int limit) {
+        Map<Integer, T> tail = afterID == null ? items : items.tailMap(afterID, false);
+        return tail.values().stream()
+                .limit(Math.max(limit, 0))
                 .toList();
+    }
 
-        if (subtasksInEpic.isEmpty()) {
-            return;
+    // Validation and insert are kept together, so subclasses can make them atomic
+    protected void addToSchedule(Task task) {
+        long startNanos = System.nanoTime();
+        try {
+            tasksSortedByDateTime.findOverlap(task)
+                    .ifPresent(t -> {
+                        throw new DateTimeOverlapException("\n" + task + "\n" + t);
+                    });
+            tasksSortedByDateTime.add(task);
+        } finally {
+            if (scheduleDuration != null) {
+                scheduleDuration.observeNanos(System.nanoTime() - startNanos);
+            }
         }
+    }
 
-        Duration epicDuration = subtasksInEpic.stream()
-                .map(Task::getDuration)
-                .reduce(Duration.ZERO, Duration::plus);
+    // All tasks are validated before any of them gets an ID and is inserted
+    protected void addAllToSchedule(List<? extends Task> newTasks) {
+        long startNanos = System.nanoTime();
+        try {
+            tasksSortedByDateTime.findOverlapOfNewTasks(newTasks)
+                    .ifPresent(t -> {
+                        throw new DateTimeOverlapException("\n" + t);
+                    });
+            for (Task task : newTasks) {
+                task.setId(generateID());
+                tasksSortedByDateTime.add(task);
+            }
+        } finally {
+            if (scheduleDuration != null) {
+                scheduleDuration.observeNanos(System.nanoTime() - startNanos);
+            }
+        }
+    }
 
-        epic.setDuration(epicDuration);
-        epic.setStartDateTime(subtasksInEpic.getFirst().getStartDateTime());
-        epic.setEndDateTime(subtasksInEpic.getLast().getEndDateTime());
+    private void placeInFreeSlot(Task task) {
+        if (task.getStartDateTime() != null && task.getDuration() != null) {
+            task.setStartDateTime(findFreeSlot(task.getDuration(), task.getStartDateTime()));
+        }
     }
 
-    public static boolean checkDateTimeOverlap(Task task1, Task task2) {
-        return task1.getStartDateTime().isBefore(task2.getEndDateTime()) &&
-                task1.getEndDateTime().isAfter(task2.getStartDateTime());
+    protected void removeFromSchedule(Integer id) {
+        tasksSortedByDateTime.remove(id);
     }
 
-    private boolean validateByDateTime(Task task) {
-        if (task.getStartDateTime() == null || task.getDuration() == null) {
-            return false;
-        }
-        getPrioritizedTasks().stream()
-                .filter(t -> !t.equals(task))
-                .filter(t -> checkDateTimeOverlap(task, t))
-                .findFirst()
-                .ifPresent(t -> {
-                    throw new DateTimeOverlapException("\n" + task + "\n" + t);
-                });
+    // Status and search index changes are kept in these methods, so subclasses can guard the indexes
+    protected void addToStatusIndex(Task task) {
+        idsByStatus.add(task);
+    }
+
+    protected void removeFromStatusIndex(TaskTypes type, Integer id) {
+        idsByStatus.remove(type, id);
+    }
+
+    protected void clearStatusIndex(TaskTypes type) {
+        idsByStatus.clear(type);
+    }
+
+    protected void clearStatusIndex() {
+        idsByStatus.clear();
+    }
+
+    protected void addToSearchIndex(Task task) {
+        searchIndex.add(task);
+    }
 
-        return true;
+    protected void removeFromSearchIndex(Integer id) {
+        searchIndex.remove(id);
+    }
+
+    protected void clearSearchIndex() {
+        searchIndex.clear();
+    }
+
+    protected int[] getIDsByStatus(TaskTypes type, TaskStatus status) {
+        return idsByStatus.getIDs(type, status);
+    }
+
+    private <T extends Task> List<T> getByStatus(Map<Integer, T> items, TaskTypes type, TaskStatus status) {
+        int[] ids = getIDsByStatus(type, status);
+        List<T> itemsWithStatus = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            T item = items.get(id);
+            if (item != null) {
+                itemsWithStatus.add(item);
+            }
+        }
+        return itemsWithStatus;
     }
 
     @Override
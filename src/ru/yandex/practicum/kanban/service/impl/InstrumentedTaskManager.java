@@ -0,0 +1,264 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.metrics.Histogram;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Records latency and errors of every TaskManager call and the board size
+public class InstrumentedTaskManager implements TaskManager {
+    private static final String DURATION_METRIC = "taskmanager_operation_duration_seconds";
+    private static final String ERRORS_METRIC = "taskmanager_errors_total";
+    private static final String ITEMS_METRIC = "taskmanager_board_items";
+
+    private final TaskManager taskManager;
+    private final MetricsRegistry metricsRegistry;
+    private final Map<String, Histogram> durationByOperation = new ConcurrentHashMap<>();
+
+    public InstrumentedTaskManager(TaskManager taskManager, MetricsRegistry metricsRegistry) {
+        this.taskManager = taskManager;
+        this.metricsRegistry = metricsRegistry;
+
+        String itemsHelp = "Number of registered items";
+        metricsRegistry.gauge(ITEMS_METRIC, itemsHelp, () -> record("getTasksCnt", taskManager::getTasksCnt),
+                "type", "task");
+        metricsRegistry.gauge(ITEMS_METRIC, itemsHelp, () -> record("getEpicsCnt", taskManager::getEpicsCnt),
+                "type", "epic");
+        metricsRegistry.gauge(ITEMS_METRIC, itemsHelp, () -> record("getSubtasksCnt", taskManager::getSubtasksCnt),
+                "type", "subtask");
+    }
+
+    @Override
+    public long getVersion() {
+        return record("getVersion", taskManager::getVersion);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return record("getHistory", () -> taskManager.getHistory());
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        return record("getHistory", () -> taskManager.getHistory(limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return record("getPrioritizedTasks", () -> taskManager.getPrioritizedTasks());
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartDateTime, Integer afterID, int limit) {
+        return record("getPrioritizedTasksPage",
+                () -> taskManager.getPrioritizedTasksPage(afterStartDateTime, afterID, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return record("getPrioritizedTasksRange", () -> taskManager.getPrioritizedTasks(from, to, limit));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime after) {
+        return record("findFreeSlot", () -> taskManager.findFreeSlot(duration, after));
+    }
+
+    @Override
+    public List<Integer> search(String query, int limit) {
+        return record("search", () -> taskManager.search(query, limit));
+    }
+
+    // Tasks methods
+    @Override
+    public List<Task> getAllTasks() {
+        return record("getAllTasks", taskManager::getAllTasks);
+    }
+
+    @Override
+    public int getTasksCnt() {
+        return record("getTasksCnt", taskManager::getTasksCnt);
+    }
+
+    @Override
+    public List<Task> getTasksPage(Integer afterID, int limit) {
+        return record("getTasksPage", () -> taskManager.getTasksPage(afterID, limit));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return record("getTasksByStatus", () -> taskManager.getTasksByStatus(status));
+    }
+
+    @Override
+    public Task getTaskByID(Integer id) {
+        return record("getTaskByID", () -> taskManager.getTaskByID(id));
+    }
+
+    @Override
+    public Integer createTask(Task task) {
+        return record("createTask", () -> taskManager.createTask(task));
+    }
+
+    @Override
+    public Integer createTaskInFreeSlot(Task task) {
+        return record("createTaskInFreeSlot", () -> taskManager.createTaskInFreeSlot(task));
+    }
+
+    @Override
+    public List<Integer> createTasks(List<Task> newTasks) {
+        return record("createTasks", () -> taskManager.createTasks(newTasks));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        record("updateTask", () -> taskManager.updateTask(task));
+    }
+
+    @Override
+    public void removeTaskByID(Integer id) {
+        record("removeTaskByID", () -> taskManager.removeTaskByID(id));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        record("removeAllTasks", taskManager::removeAllTasks);
+    }
+
+    // Subtasks methods
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return record("getAllSubtasks", taskManager::getAllSubtasks);
+    }
+
+    @Override
+    public int getSubtasksCnt() {
+        return record("getSubtasksCnt", taskManager::getSubtasksCnt);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(Integer afterID, int limit) {
+        return record("getSubtasksPage", () -> taskManager.getSubtasksPage(afterID, limit));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return record("getSubtasksByStatus", () -> taskManager.getSubtasksByStatus(status));
+    }
+
+    @Override
+    public Subtask getSubtaskByID(Integer id) {
+        return record("getSubtaskByID", () -> taskManager.getSubtaskByID(id));
+    }
+
+    @Override
+    public Integer createSubtask(Subtask subtask) {
+        return record("createSubtask", () -> taskManager.createSubtask(subtask));
+    }
+
+    @Override
+    public Integer createSubtaskInFreeSlot(Subtask subtask) {
+        return record("createSubtaskInFreeSlot", () -> taskManager.createSubtaskInFreeSlot(subtask));
+    }
+
+    @Override
+    public List<Integer> createSubtasks(List<Subtask> newSubtasks) {
+        return record("createSubtasks", () -> taskManager.createSubtasks(newSubtasks));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        record("updateSubtask", () -> taskManager.updateSubtask(subtask));
+    }
+
+    @Override
+    public void removeSubtaskByID(Integer subtaskID) {
+        record("removeSubtaskByID", () -> taskManager.removeSubtaskByID(subtaskID));
+    }
+
+    @Override
+    public void removeAllSubtasks() {
+        record("removeAllSubtasks", taskManager::removeAllSubtasks);
+    }
+
+    // Epics methods
+    @Override
+    public List<Epic> getAllEpic() {
+        return record("getAllEpic", taskManager::getAllEpic);
+    }
+
+    @Override
+    public int getEpicsCnt() {
+        return record("getEpicsCnt", taskManager::getEpicsCnt);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(Integer afterID, int limit) {
+        return record("getEpicsPage", () -> taskManager.getEpicsPage(afterID, limit));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return record("getEpicsByStatus", () -> taskManager.getEpicsByStatus(status));
+    }
+
+    @Override
+    public Epic getEpicByID(Integer id) {
+        return record("getEpicByID", () -> taskManager.getEpicByID(id));
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasksByEpicID(Integer epicID) {
+        return record("getAllSubtasksByEpicID", () -> taskManager.getAllSubtasksByEpicID(epicID));
+    }
+
+    @Override
+    public Integer createEpic(Epic epic) {
+        return record("createEpic", () -> taskManager.createEpic(epic));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        record("updateEpic", () -> taskManager.updateEpic(epic));
+    }
+
+    @Override
+    public void removeEpicByID(Integer epicID) {
+        record("removeEpicByID", () -> taskManager.removeEpicByID(epicID));
+    }
+
+    @Override
+    public void removeAllEpic() {
+        record("removeAllEpic", taskManager::removeAllEpic);
+    }
+
+    private <T> T record(String operation, Supplier<T> action) {
+        Histogram duration = durationByOperation.computeIfAbsent(operation, key -> metricsRegistry.histogram(
+                DURATION_METRIC, "Duration of TaskManager operations", "operation", key));
+        long startNanos = System.nanoTime();
+
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            metricsRegistry.counter(ERRORS_METRIC, "Failed TaskManager operations",
+                    "operation", operation, "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            duration.observeNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    private void record(String operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,117 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.HistoryManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/*
+ * Keeps a separate history for every client. The client of the current thread is set by the caller,
+ * e.g. by the HTTP handler from a request header; without it the DEFAULT_CLIENT history is used.
+ * Partitions not used for idleTimeout are evicted, and the least recently used ones are evicted when
+ * there are more than maxPartitions. A removed task is removed from every partition.
+ */
+public class PartitionedHistoryManager implements HistoryManager {
+    public static final String DEFAULT_CLIENT = "default";
+    public static final int DEFAULT_MAX_PARTITIONS = 1000;
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final ThreadLocal<String> currentClient = new ThreadLocal<>();
+
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+    private final Supplier<HistoryManager> partitionFactory;
+    private final int maxPartitions;
+    private final long idleTimeoutNanos;
+
+    private static class Partition {
+        private final HistoryManager historyManager;
+        private volatile long lastAccessNanos;
+
+        private Partition(HistoryManager historyManager) {
+            this.historyManager = historyManager;
+            lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    public PartitionedHistoryManager() {
+        this(ConcurrentHistoryManager::new, DEFAULT_MAX_PARTITIONS, DEFAULT_IDLE_TIMEOUT);
+    }
+
+    public PartitionedHistoryManager(Supplier<HistoryManager> partitionFactory, int maxPartitions,
+                                     Duration idleTimeout) {
+        this.partitionFactory = partitionFactory;
+        this.maxPartitions = maxPartitions;
+        idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    public static void setCurrentClient(String client) {
+        currentClient.set(client);
+    }
+
+    public static void clearCurrentClient() {
+        currentClient.remove();
+    }
+
+    public int getPartitionsCnt() {
+        return partitions.size();
+    }
+
+    @Override
+    public void add(Task task) {
+        getPartition().add(task);
+    }
+
+    @Override
+    public void remove(int id) {
+        partitions.values().forEach(partition -> partition.historyManager.remove(id));
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return getPartition().getHistory();
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        return getPartition().getHistory(limit);
+    }
+
+    private HistoryManager getPartition() {
+        String client = currentClient.get();
+        if (client == null) {
+            client = DEFAULT_CLIENT;
+        }
+
+        Partition partition = partitions.get(client);
+        if (partition == null) {
+            partition = partitions.computeIfAbsent(client, key -> new Partition(partitionFactory.get()));
+            evictPartitions(partition);
+        }
+        partition.lastAccessNanos = System.nanoTime();
+        return partition.historyManager;
+    }
+
+    // Runs only when a partition is created, so the scan is amortized over the lifetime of a client
+    private void evictPartitions(Partition newPartition) {
+        long now = System.nanoTime();
+        partitions.entrySet().removeIf(entry -> entry.getValue() != newPartition
+                && now - entry.getValue().lastAccessNanos > idleTimeoutNanos);
+
+        while (partitions.size() > maxPartitions) {
+            Map.Entry<String, Partition> leastRecentlyUsed = null;
+            for (Map.Entry<String, Partition> entry : partitions.entrySet()) {
+                if (entry.getValue() != newPartition && (leastRecentlyUsed == null
+                        || entry.getValue().lastAccessNanos < leastRecentlyUsed.getValue().lastAccessNanos)) {
+                    leastRecentlyUsed = entry;
+                }
+            }
+            if (leastRecentlyUsed == null) {
+                return;
+            }
+            partitions.remove(leastRecentlyUsed.getKey(), leastRecentlyUsed.getValue());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+public enum PersistenceMode {
+    SNAPSHOT,    // Every change rewrites the whole file
+    JOURNAL,     // Every change is appended to the journal, which is compacted into the file from time to time
+    WRITE_BEHIND // Changes are collected and written to the file by a background flusher
+}
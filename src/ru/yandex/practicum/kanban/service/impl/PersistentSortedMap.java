@@ -0,0 +1,201 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/*
+ * Immutable sorted map. put() and remove() return a new map, which shares all but O(log n) nodes with
+ * the previous one, so a change is published without copying the whole map.
+ * It is a treap: node priorities are mixed from key hashes, so the expected depth is O(log n).
+ */
+public class PersistentSortedMap<K, V> {
+    private record Node<K, V>(K key, V value, int priority, int size, Node<K, V> left, Node<K, V> right) {
+        Node(K key, V value, int priority, Node<K, V> left, Node<K, V> right) {
+            this(key, value, priority, 1 + sizeOf(left) + sizeOf(right), left, right);
+        }
+
+        Node<K, V> withChildren(Node<K, V> left, Node<K, V> right) {
+            return new Node<>(key, value, priority, left, right);
+        }
+    }
+
+    private final Comparator<? super K> comparator;
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Comparator<? super K> comparator, Node<K, V> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    public static <K, V> PersistentSortedMap<K, V> empty(Comparator<? super K> comparator) {
+        return new PersistentSortedMap<>(comparator, null);
+    }
+
+    public int size() {
+        return sizeOf(root);
+    }
+
+    public V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = comparator.compare(key, node.key());
+            if (cmp == 0) {
+                return node.value();
+            }
+            node = cmp < 0 ? node.left() : node.right();
+        }
+        return null;
+    }
+
+    public PersistentSortedMap<K, V> put(K key, V value) {
+        return new PersistentSortedMap<>(comparator, put(root, key, value));
+    }
+
+    public PersistentSortedMap<K, V> remove(K key) {
+        Node<K, V> newRoot = remove(root, key);
+        return newRoot == root ? this : new PersistentSortedMap<>(comparator, newRoot);
+    }
+
+    // Views in key order: get(index) is O(log n), iteration is O(n)
+    public List<K> keys() {
+        return new NodeList<>(root, Node::key);
+    }
+
+    public List<V> values() {
+        return new NodeList<>(root, Node::value);
+    }
+
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, priorityOf(key), null, null);
+        }
+        int cmp = comparator.compare(key, node.key());
+        if (cmp == 0) {
+            return new Node<>(key, value, node.priority(), node.left(), node.right());
+        }
+        if (cmp < 0) {
+            Node<K, V> left = put(node.left(), key, value);
+            if (left.priority() > node.priority()) { // Rotate right
+                return left.withChildren(left.left(), node.withChildren(left.right(), node.right()));
+            }
+            return node.withChildren(left, node.right());
+        }
+        Node<K, V> right = put(node.right(), key, value);
+        if (right.priority() > node.priority()) { // Rotate left
+            return right.withChildren(node.withChildren(node.left(), right.left()), right.right());
+        }
+        return node.withChildren(node.left(), right);
+    }
+
+    private Node<K, V> remove(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = comparator.compare(key, node.key());
+        if (cmp == 0) {
+            return merge(node.left(), node.right());
+        }
+        if (cmp < 0) {
+            Node<K, V> left = remove(node.left(), key);
+            return left == node.left() ? node : node.withChildren(left, node.right());
+        }
+        Node<K, V> right = remove(node.right(), key);
+        return right == node.right() ? node : node.withChildren(node.left(), right);
+    }
+
+    // All keys of "left" are less than the keys of "right"
+    private static <K, V> Node<K, V> merge(Node<K, V> left, Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority() > right.priority()) {
+            return left.withChildren(left.left(), merge(left.right(), right));
+        }
+        return right.withChildren(merge(left, right.left()), right.right());
+    }
+
+    private static int sizeOf(Node<?, ?> node) {
+        return node == null ? 0 : node.size();
+    }
+
+    private static int priorityOf(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+
+    private static class NodeList<K, V, T> extends AbstractList<T> {
+        private final Node<K, V> root;
+        private final Function<Node<K, V>, T> mapper;
+
+        NodeList(Node<K, V> root, Function<Node<K, V>, T> mapper) {
+            this.root = root;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public int size() {
+            return sizeOf(root);
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+            }
+            Node<K, V> node = root;
+            while (true) {
+                int leftSize = sizeOf(node.left());
+                if (index == leftSize) {
+                    return mapper.apply(node);
+                }
+                if (index < leftSize) {
+                    node = node.left();
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right();
+                }
+            }
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<>() {
+                private final Deque<Node<K, V>> path = new ArrayDeque<>();
+
+                {
+                    pushLeftPath(root);
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return !path.isEmpty();
+                }
+
+                @Override
+                public T next() {
+                    if (path.isEmpty()) {
+                        throw new NoSuchElementException();
+                    }
+                    Node<K, V> node = path.pop();
+                    pushLeftPath(node.right());
+                    return mapper.apply(node);
+                }
+
+                private void pushLeftPath(Node<K, V> node) {
+                    for (; node != null; node = node.left()) {
+                        path.push(node);
+                    }
+                }
+            };
+        }
+    }
+}
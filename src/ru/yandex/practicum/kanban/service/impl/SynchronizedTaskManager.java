@@ -0,0 +1,252 @@
+package ru.yandex.practicum.kanban.service.impl;
+
+import ru.yandex.practicum.kanban.model.*;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/*
+ * Makes any TaskManager safe for concurrent clients. List reads share a read lock, everything else,
+ * including get*ByID which changes the history, takes the write lock.
+ */
+public class SynchronizedTaskManager implements TaskManager {
+    private final TaskManager taskManager;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SynchronizedTaskManager(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    public long getVersion() {
+        return read(taskManager::getVersion);
+    }
+
+    @Override
+    public List<Task> getHistory() {
+        return read(taskManager::getHistory);
+    }
+
+    @Override
+    public List<Task> getHistory(int limit) {
+        return read(() -> taskManager.getHistory(limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return read(taskManager::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasksPage(LocalDateTime afterStartDateTime, Integer afterID, int limit) {
+        return read(() -> taskManager.getPrioritizedTasksPage(afterStartDateTime, afterID, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return read(() -> taskManager.getPrioritizedTasks(from, to, limit));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(Duration duration, LocalDateTime after) {
+        return read(() -> taskManager.findFreeSlot(duration, after));
+    }
+
+    @Override
+    public List<Integer> search(String query, int limit) {
+        return read(() -> taskManager.search(query, limit));
+    }
+
+    // Tasks methods
+    @Override
+    public List<Task> getAllTasks() {
+        return read(taskManager::getAllTasks);
+    }
+
+    @Override
+    public int getTasksCnt() {
+        return read(taskManager::getTasksCnt);
+    }
+
+    @Override
+    public List<Task> getTasksPage(Integer afterID, int limit) {
+        return read(() -> taskManager.getTasksPage(afterID, limit));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(TaskStatus status) {
+        return read(() -> taskManager.getTasksByStatus(status));
+    }
+
+    @Override
+    public Task getTaskByID(Integer id) {
+        return write(() -> taskManager.getTaskByID(id));
+    }
+
+    @Override
+    public Integer createTask(Task task) {
+        return write(() -> taskManager.createTask(task));
+    }
+
+    @Override
+    public Integer createTaskInFreeSlot(Task task) {
+        return write(() -> taskManager.createTaskInFreeSlot(task));
+    }
+
+    @Override
+    public List<Integer> createTasks(List<Task> newTasks) {
+        return write(() -> taskManager.createTasks(newTasks));
+    }
+
+    @Override
+    public void updateTask(Task task) {
+        write(() -> taskManager.updateTask(task));
+    }
+
+    @Override
+    public void removeTaskByID(Integer id) {
+        write(() -> taskManager.removeTaskByID(id));
+    }
+
+    @Override
+    public void removeAllTasks() {
+        write(taskManager::removeAllTasks);
+    }
+
+    // Subtasks methods
+    @Override
+    public List<Subtask> getAllSubtasks() {
+        return read(taskManager::getAllSubtasks);
+    }
+
+    @Override
+    public int getSubtasksCnt() {
+        return read(taskManager::getSubtasksCnt);
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(Integer afterID, int limit) {
+        return read(() -> taskManager.getSubtasksPage(afterID, limit));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(TaskStatus status) {
+        return read(() -> taskManager.getSubtasksByStatus(status));
+    }
+
+    @Override
+    public Subtask getSubtaskByID(Integer id) {
+        return write(() -> taskManager.getSubtaskByID(id));
+    }
+
+    @Override
+    public Integer createSubtask(Subtask subtask) {
+        return write(() -> taskManager.createSubtask(subtask));
+    }
+
+    @Override
+    public Integer createSubtaskInFreeSlot(Subtask subtask) {
+        return write(() -> taskManager.createSubtaskInFreeSlot(subtask));
+    }
+
+    @Override
+    public List<Integer> createSubtasks(List<Subtask> newSubtasks) {
+        return write(() -> taskManager.createSubtasks(newSubtasks));
+    }
+
+    @Override
+    public void updateSubtask(Subtask subtask) {
+        write(() -> taskManager.updateSubtask(subtask));
+    }
+
+    @Override
+    public void removeSubtaskByID(Integer subtaskID) {
+        write(() -> taskManager.removeSubtaskByID(subtaskID));
+    }
+
+    @Override
+    public void removeAllSubtasks() {
+        write(taskManager::removeAllSubtasks);
+    }
+
+    // Epics methods
+    @Override
+    public List<Epic> getAllEpic() {
+        return read(taskManager::getAllEpic);
+    }
+
+    @Override
+    public int getEpicsCnt() {
+        return read(taskManager::getEpicsCnt);
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(Integer afterID, int limit) {
+        return read(() -> taskManager.getEpicsPage(afterID, limit));
+    }
+
+    @Override
+    public List<Epic> getEpicsByStatus(TaskStatus status) {
+        return read(() -> taskManager.getEpicsByStatus(status));
+    }
+
+    @Override
+    public Epic getEpicByID(Integer id) {
+        return write(() -> taskManager.getEpicByID(id));
+    }
+
+    @Override
+    public List<Subtask> getAllSubtasksByEpicID(Integer epicID) {
+        return read(() -> taskManager.getAllSubtasksByEpicID(epicID));
+    }
+
+    @Override
+    public Integer createEpic(Epic epic) {
+        return write(() -> taskManager.createEpic(epic));
+    }
+
+    @Override
+    public void updateEpic(Epic epic) {
+        write(() -> taskManager.updateEpic(epic));
+    }
+
+    @Override
+    public void removeEpicByID(Integer epicID) {
+        write(() -> taskManager.removeEpicByID(epicID));
+    }
+
+    @Override
+    public void removeAllEpic() {
+        write(taskManager::removeAllEpic);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(Supplier<T> action) {
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void write(Runnable action) {
+        write(() -> {
+            action.run();
+            return null;
+        });
+    }
+}
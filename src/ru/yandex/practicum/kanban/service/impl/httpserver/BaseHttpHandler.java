@@ -1,15 +1,34 @@
 package ru.yandex.practicum.kanban.service.impl.httpserver;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import com.sun.net.httpserver.HttpExchange;
 
 import com.sun.net.httpserver.HttpHandler;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.DateTimeOverlapException;
+import ru.yandex.practicum.kanban.service.impl.PartitionedHistoryManager;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 
+import java.net.URLDecoder;
+
+import java.time.DateTimeException;
+
+import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
 public abstract class BaseHttpHandler implements HttpHandler {
     protected final TaskManager taskManager;
@@ -17,6 +36,17 @@ public abstract class BaseHttpHandler implements HttpHandler {
 
     protected static final String EMPTY_RESPONSE = "";
     protected static final int ID_INDEX_IN_REQUEST_PATH = 2;
+    protected static final String BATCH_PATH_PART = "batch";
+    private static final int CHUNKED_RESPONSE_LENGTH = 0;
+    private static final int NO_RESPONSE_BODY = -1;
+    private static final int RESPONSE_BUFFER_SIZE = 1 << 13;
+    private static final int MIN_COMPRESSED_RESPONSE_SIZE = 1024;
+    // Differs between runs, so ETags given out before a restart never match a new board of the same version
+    private static final String ETAG_PREFIX = Long.toHexString(System.currentTimeMillis());
+    public static final String SESSION_HEADER = "X-Session-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
 
     public BaseHttpHandler(TaskManager taskManager) {
         this.taskManager = taskManager;
@@ -25,12 +55,18 @@ public abstract class BaseHttpHandler implements HttpHandler {
 
     @Override
     public void handle(HttpExchange httpExchange) throws IOException {
-        String method = httpExchange.getRequestMethod();
-        switch (method) {
-            case "GET" -> handleGetRequest(httpExchange);
-            case "POST" -> handlePostRequest(httpExchange);
-            case "DELETE" -> handleDeleteRequest(httpExchange);
-            default -> sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.METHOD_NOT_ALLOWED_405);
+        // History is kept per session, requests without the header share the default one
+        PartitionedHistoryManager.setCurrentClient(httpExchange.getRequestHeaders().getFirst(SESSION_HEADER));
+        try {
+            String method = httpExchange.getRequestMethod();
+            switch (method) {
+                case "GET" -> handleConditionalGetRequest(httpExchange);
+                case "POST" -> handlePostRequest(httpExchange);
+                case "DELETE" -> handleDeleteRequest(httpExchange);
+                default -> sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.METHOD_NOT_ALLOWED_405);
+            }
+        } finally {
+            PartitionedHistoryManager.clearCurrentClient();
         }
     }
 
@@ -38,6 +74,16 @@ public abstract class BaseHttpHandler implements HttpHandler {
         sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.METHOD_NOT_ALLOWED_405);
     }
 
+    // True for GET responses that depend on the board only, so TaskManager.getVersion() identifies them.
+    // GET by ID is not one of them, it also adds the item to the history
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return false;
+    }
+
+    protected boolean isListRequest(HttpExchange httpExchange) {
+        return httpExchange.getRequestURI().getPath().split("/").length <= ID_INDEX_IN_REQUEST_PATH;
+    }
+
     protected void handlePostRequest(HttpExchange httpExchange) throws IOException {
         sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.METHOD_NOT_ALLOWED_405);
     }
@@ -46,6 +92,96 @@ public abstract class BaseHttpHandler implements HttpHandler {
         sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.METHOD_NOT_ALLOWED_405);
     }
 
+    // The version is read before the board, so a change made meanwhile only makes the ETag older
+    private void handleConditionalGetRequest(HttpExchange httpExchange) throws IOException {
+        if (!isVersioned(httpExchange)) {
+            handleGetRequest(httpExchange);
+            return;
+        }
+
+        String encodingSuffix = acceptsGzip(httpExchange) ? "-gzip" : "";
+        String eTag = "\"" + ETAG_PREFIX + "-" + taskManager.getVersion() + encodingSuffix + "\"";
+        httpExchange.getResponseHeaders().add("ETag", eTag);
+        httpExchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+
+        String ifNoneMatch = httpExchange.getRequestHeaders().getFirst("If-None-Match");
+        if (ifNoneMatch != null && matchesETag(ifNoneMatch, eTag)) {
+            httpExchange.sendResponseHeaders(HttpTaskServer.NOT_MODIFIED_304, NO_RESPONSE_BODY);
+            httpExchange.close();
+        } else {
+            handleGetRequest(httpExchange);
+        }
+    }
+
+    private static boolean matchesETag(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpExchange httpExchange) {
+        String acceptEncoding = httpExchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        for (String coding : acceptEncoding.split(",")) {
+            String[] codingParts = coding.split(";");
+            if (codingParts[0].trim().equalsIgnoreCase("gzip")) {
+                for (int i = 1; i < codingParts.length; ++i) {
+                    String parameter = codingParts[i].trim();
+                    if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?")) {
+                        return false; // Explicitly not acceptable
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected boolean isBatchRequest(HttpExchange httpExchange) {
+        String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
+        return pathParts.length == ID_INDEX_IN_REQUEST_PATH + 1
+                && pathParts[ID_INDEX_IN_REQUEST_PATH].equals(BATCH_PATH_PART);
+    }
+
+    // Created items are moved to the earliest free slot instead of failing with an overlap
+    protected boolean isAutoPlaceRequested(HttpExchange httpExchange) {
+        return getQueryParameter(httpExchange, "autoPlace")
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+    }
+
+    // Creates all items of a JSON array with one call and responds with their IDs
+    protected <T extends Task> void handleBatchPostRequest(HttpExchange httpExchange, Class<T> itemClass,
+                                                           Function<List<T>, List<Integer>> createAll)
+            throws IOException {
+        String requestBody = new String(httpExchange.getRequestBody().readAllBytes(), HttpTaskServer.DEFAULT_CHARSET);
+        String response = EMPTY_RESPONSE;
+        int rCode = HttpTaskServer.CREATED_201;
+
+        try {
+            List<T> items = gson.fromJson(requestBody, TypeToken.getParameterized(List.class, itemClass).getType());
+            if (items == null || items.contains(null)) {
+                throw new IllegalArgumentException("Batch must be an array of items");
+            }
+            response = gson.toJson(createAll.apply(items));
+        } catch (DateTimeOverlapException e) {
+            rCode = HttpTaskServer.NOT_ACCEPTABLE_406;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            rCode = HttpTaskServer.BAD_REQUEST_400;
+        }
+        sendResponse(httpExchange, response, rCode);
+    }
+
     protected Optional<Integer> getId(HttpExchange httpExchange) throws NumberFormatException {
         String path = httpExchange.getRequestURI().getPath();
         String[] pathParts = path.split("/");
@@ -58,14 +194,147 @@ public abstract class BaseHttpHandler implements HttpHandler {
         }
     }
 
+    protected Optional<String> getQueryParameter(HttpExchange httpExchange, String name) {
+        String query = httpExchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return Optional.empty();
+        }
+
+        for (String parameter : query.split("&")) {
+            int delimiterIndex = parameter.indexOf('=');
+            String parameterName = delimiterIndex < 0 ? parameter : parameter.substring(0, delimiterIndex);
+            if (parameterName.equals(name)) {
+                String value = delimiterIndex < 0 ? "" : parameter.substring(delimiterIndex + 1);
+                return Optional.of(URLDecoder.decode(value, HttpTaskServer.DEFAULT_CHARSET));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Items are serialized one by one straight into a chunked response, so no copy of the whole JSON is built
+    protected void sendListResponse(HttpExchange httpExchange, List<? extends Task> items, int rCode)
+            throws IOException {
+        Writer writer = new OutputStreamWriter(sendChunkedResponseHeaders(httpExchange, rCode),
+                HttpTaskServer.DEFAULT_CHARSET);
+        try (JsonWriter jsonWriter = gson.newJsonWriter(new BufferedWriter(writer, RESPONSE_BUFFER_SIZE))) {
+            if (items == null) {
+                jsonWriter.nullValue();
+                return;
+            }
+            jsonWriter.beginArray();
+            for (Task item : items) {
+                gson.toJson(item, item.getClass(), jsonWriter);
+            }
+            jsonWriter.endArray();
+        }
+    }
+
+    // Reads a page of items after the position of the previous page's last item, null for the first page
+    @FunctionalInterface
+    protected interface PageQuery<T extends Task> {
+        List<T> getPage(String afterPosition, int limit);
+    }
+
+    protected boolean isStatusRequested(HttpExchange httpExchange) {
+        return getQueryParameter(httpExchange, "status").isPresent();
+    }
+
+    // Sends the items with the status given by the "status" query parameter, e.g. ?status=IN_PROGRESS
+    protected <T extends Task> void sendListByStatus(HttpExchange httpExchange,
+                                                     Function<TaskStatus, List<T>> itemsByStatus) throws IOException {
+        TaskStatus status;
+        try {
+            status = TaskStatus.valueOf(getQueryParameter(httpExchange, "status").orElseThrow());
+        } catch (IllegalArgumentException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+        sendListResponse(httpExchange, itemsByStatus.apply(status), HttpTaskServer.OK_200);
+    }
+
+    protected boolean isPageRequested(HttpExchange httpExchange) {
+        return getQueryParameter(httpExchange, "limit").isPresent()
+                || getQueryParameter(httpExchange, "cursor").isPresent();
+    }
+
+    /*
+     * Sends the page selected by the limit and cursor query parameters. The cursor is an opaque encoding
+     * of the last item's position, it is sent in NEXT_CURSOR_HEADER only if there are more items.
+     */
+    protected <T extends Task> void sendPage(HttpExchange httpExchange, PageQuery<T> pageQuery,
+                                             Function<T, String> positionOf) throws IOException {
+        List<T> page;
+        int limit;
+        try {
+            limit = Integer.parseInt(getQueryParameter(httpExchange, "limit")
+                    .orElse(Integer.toString(DEFAULT_PAGE_LIMIT)));
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Page limit must be positive");
+            }
+            limit = Math.min(limit, MAX_PAGE_LIMIT);
+            String afterPosition = getQueryParameter(httpExchange, "cursor")
+                    .map(cursor -> new String(Base64.getUrlDecoder().decode(cursor), HttpTaskServer.DEFAULT_CHARSET))
+                    .orElse(null);
+            page = pageQuery.getPage(afterPosition, limit + 1); // One more item tells if there is a next page
+        } catch (IllegalArgumentException | DateTimeException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+
+        if (page.size() > limit) {
+            page = page.subList(0, limit);
+            String position = positionOf.apply(page.getLast());
+            httpExchange.getResponseHeaders().add(NEXT_CURSOR_HEADER, Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(position.getBytes(HttpTaskServer.DEFAULT_CHARSET)));
+        }
+        sendListResponse(httpExchange, page, HttpTaskServer.OK_200);
+    }
+
+    // The position of a page by ID is the ID of its last item
+    protected <T extends Task> void sendPageByID(HttpExchange httpExchange,
+                                                 BiFunction<Integer, Integer, List<T>> pageByID) throws IOException {
+        sendPage(httpExchange,
+                (afterPosition, limit) -> {
+                    Integer afterID = afterPosition == null ? null : Integer.valueOf(afterPosition);
+                    return pageByID.apply(afterID, limit);
+                },
+                item -> item.getId().toString());
+    }
+
     protected void sendResponse(HttpExchange httpExchange, String response, int rCode) throws IOException {
         byte[] responseBytes = response.getBytes(HttpTaskServer.DEFAULT_CHARSET);
-        httpExchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
-        httpExchange.getResponseHeaders().add("Allow", "GET, POST, DELETE");
+        if (responseBytes.length >= MIN_COMPRESSED_RESPONSE_SIZE && acceptsGzip(httpExchange)) {
+            try (OutputStream oStream = sendChunkedResponseHeaders(httpExchange, rCode)) {
+                oStream.write(responseBytes);
+            }
+            return;
+        }
+
+        addResponseHeaders(httpExchange);
         httpExchange.sendResponseHeaders(rCode, responseBytes.length);
 
         try (OutputStream oStream = httpExchange.getResponseBody()) {
             oStream.write(responseBytes);
         }
     }
+
+    // The length of a compressed response is not known in advance, so it is always chunked
+    private OutputStream sendChunkedResponseHeaders(HttpExchange httpExchange, int rCode) throws IOException {
+        addResponseHeaders(httpExchange);
+        boolean isCompressed = acceptsGzip(httpExchange);
+        if (isCompressed) {
+            httpExchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        httpExchange.sendResponseHeaders(rCode, CHUNKED_RESPONSE_LENGTH);
+
+        OutputStream oStream = httpExchange.getResponseBody();
+        return isCompressed ? new GZIPOutputStream(oStream, RESPONSE_BUFFER_SIZE) : oStream;
+    }
+
+    // Any response body may be compressed, so caches must keep responses apart by Accept-Encoding
+    private void addResponseHeaders(HttpExchange httpExchange) {
+        httpExchange.getResponseHeaders().add("Content-Type", "application/json;charset=utf-8");
+        httpExchange.getResponseHeaders().add("Allow", "GET, POST, DELETE");
+        httpExchange.getResponseHeaders().set("Vary", "Accept-Encoding");
+    }
 }
\ No newline at end of file
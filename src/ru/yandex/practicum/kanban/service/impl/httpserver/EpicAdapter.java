@@ -0,0 +1,63 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ru.yandex.practicum.kanban.model.Epic;
+
+import java.io.IOException;
+import java.util.List;
+
+public class EpicAdapter extends TypeAdapter<Epic> {
+    @Override
+    public void write(final JsonWriter jsonWriter, final Epic epic) throws IOException {
+        if (epic == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        jsonWriter.name("subtaskIDs").beginArray();
+        for (Integer subtaskID : epic.getAllSubtaskIDs()) {
+            TaskAdapter.writeInteger(jsonWriter, subtaskID);
+        }
+        jsonWriter.endArray();
+        TaskAdapter.writeDateTime(jsonWriter.name("endDateTime"), epic.getEndDateTime());
+        TaskAdapter.writeTaskFields(jsonWriter, epic);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Epic read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        Epic epic = new Epic(null, null);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            switch (name) {
+                case "subtaskIDs" -> readSubtaskIDs(jsonReader, epic.getAllSubtaskIDs());
+                case "endDateTime" -> epic.setEndDateTime(TaskAdapter.readDateTime(jsonReader));
+                default -> TaskAdapter.readTaskField(jsonReader, name, epic);
+            }
+        }
+        jsonReader.endObject();
+        return epic;
+    }
+
+    // IDs are added as they are, Epic.addSubtaskID() would check them against an ID that may be read later
+    private static void readSubtaskIDs(JsonReader jsonReader, List<Integer> subtaskIDs) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return;
+        }
+        jsonReader.beginArray();
+        while (jsonReader.hasNext()) {
+            subtaskIDs.add(TaskAdapter.readInteger(jsonReader));
+        }
+        jsonReader.endArray();
+    }
+}
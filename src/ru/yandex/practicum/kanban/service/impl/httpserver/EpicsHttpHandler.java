@@ -1,5 +1,6 @@
 package ru.yandex.practicum.kanban.service.impl.httpserver;
 
+import com.google.gson.JsonParseException;
 import com.sun.net.httpserver.HttpExchange;
 import ru.yandex.practicum.kanban.model.Epic;
 import ru.yandex.practicum.kanban.model.Subtask;
@@ -19,10 +20,14 @@ public class EpicsHttpHandler extends BaseHttpHandler {
         super(taskManager);
     }
 
+    @Override
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return isListRequest(httpExchange) || httpExchange.getRequestURI().getPath().endsWith("/subtasks");
+    }
+
     @Override
     protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
         try {
-            String response;
             Optional<Integer> maybeId = getId(httpExchange);
 
             if (maybeId.isPresent()) {
@@ -32,16 +37,19 @@ public class EpicsHttpHandler extends BaseHttpHandler {
                 if (pathParts.length > SUBTASKS_STRING_INDEX_IN_REQUEST_PATH &&
                         pathParts[SUBTASKS_STRING_INDEX_IN_REQUEST_PATH].equals("subtasks")) {
                     List<Subtask> subtasksInEpic = taskManager.getAllSubtasksByEpicID(maybeId.get());
-                    response = gson.toJson(subtasksInEpic);
+                    sendListResponse(httpExchange, subtasksInEpic, HttpTaskServer.OK_200);
                 } else {
                     Epic epic = taskManager.getEpicByID(maybeId.get());
-                    response = gson.toJson(epic);
+                    sendResponse(httpExchange, gson.toJson(epic), HttpTaskServer.OK_200);
                 }
+            } else if (isStatusRequested(httpExchange)) {
+                sendListByStatus(httpExchange, taskManager::getEpicsByStatus);
+            } else if (isPageRequested(httpExchange)) {
+                sendPageByID(httpExchange, taskManager::getEpicsPage);
             } else {
                 List<Epic> epics = taskManager.getAllEpic();
-                response = gson.toJson(epics);
+                sendListResponse(httpExchange, epics, HttpTaskServer.OK_200);
             }
-            sendResponse(httpExchange, response, HttpTaskServer.OK_200);
         } catch (NumberFormatException e) {
             sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (NotFoundException e) {
@@ -52,20 +60,20 @@ public class EpicsHttpHandler extends BaseHttpHandler {
     @Override
     protected void handlePostRequest(HttpExchange httpExchange) throws IOException {
         String requestBody = new String(httpExchange.getRequestBody().readAllBytes(), HttpTaskServer.DEFAULT_CHARSET);
-        Epic epic = gson.fromJson(requestBody, Epic.class);
         int rCode = HttpTaskServer.CREATED_201;
 
         try {
+            Epic epic = gson.fromJson(requestBody, Epic.class);
             Optional<Integer> maybeId = getId(httpExchange);
             if (maybeId.isPresent()) {
                 taskManager.updateEpic(epic);
             } else {
                 taskManager.createEpic(epic);
             }
-        } catch (NumberFormatException e) {
-            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (DateTimeOverlapException e) {
             rCode = HttpTaskServer.NOT_ACCEPTABLE_406;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            rCode = HttpTaskServer.BAD_REQUEST_400;
         }
         sendResponse(httpExchange, EMPTY_RESPONSE, rCode);
     }
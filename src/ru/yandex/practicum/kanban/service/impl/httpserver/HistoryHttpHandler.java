@@ -8,6 +8,7 @@ import ru.yandex.practicum.kanban.service.api.TaskManager;
 import java.io.IOException;
 
 import java.util.List;
+import java.util.Optional;
 
 public class HistoryHttpHandler extends BaseHttpHandler {
 
@@ -17,8 +18,22 @@ public class HistoryHttpHandler extends BaseHttpHandler {
 
     @Override
     protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
-        List<Task> history = taskManager.getHistory();
-        String response = gson.toJson(history);
-        sendResponse(httpExchange, response, HttpTaskServer.OK_200);
+        Optional<String> limit = getQueryParameter(httpExchange, "limit");
+        List<Task> history;
+        try {
+            if (limit.isPresent()) {
+                int historyLimit = Integer.parseInt(limit.get());
+                if (historyLimit <= 0) {
+                    throw new IllegalArgumentException("Limit must be positive");
+                }
+                history = taskManager.getHistory(historyLimit);
+            } else {
+                history = taskManager.getHistory();
+            }
+        } catch (IllegalArgumentException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+        sendListResponse(httpExchange, history, HttpTaskServer.OK_200);
     }
 }
\ No newline at end of file
@@ -3,12 +3,19 @@ package ru.yandex.practicum.kanban.service.impl.httpserver;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import java.net.InetSocketAddress;
 
+import ru.yandex.practicum.kanban.model.Epic;
+import ru.yandex.practicum.kanban.model.Subtask;
 import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.service.Managers;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.InstrumentedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.SynchronizedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
 
 import java.io.IOException;
 
@@ -18,37 +25,86 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.LocalDateTime;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 public class HttpTaskServer {
     private static final int PORT = 8080;
     public static final String URL = "http://localhost:" + PORT + "/";
     public static final Charset DEFAULT_CHARSET = StandardCharsets.UTF_8;
+    private static final String IN_MEMORY_ARG = "--in-memory";
 
     public static final int OK_200 = 200;
     public static final int CREATED_201 = 201;
+    public static final int NOT_MODIFIED_304 = 304;
     public static final int BAD_REQUEST_400 = 400;
     public static final int NOT_FOUND_404 = 404;
     public static final int METHOD_NOT_ALLOWED_405 = 405;
     public static final int NOT_ACCEPTABLE_406 = 406;
 
+    // Headers and body are written separately, without TCP_NODELAY every small response waits for a delayed ACK
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
     private final HttpServer server;
+    private final ExecutorService executor;
+    private final MetricsRegistry metricsRegistry;
     private static final Gson gson = new GsonBuilder()
             .serializeNulls()
             .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
             .registerTypeAdapter(Duration.class, new DurationAdapter())
+            .registerTypeAdapter(Task.class, new TaskAdapter())
+            .registerTypeAdapter(Epic.class, new EpicAdapter())
+            .registerTypeAdapter(Subtask.class, new SubtaskAdapter())
             .create();
 
+    // Each request is served on its own virtual thread, the TaskManager must be thread-safe
     public HttpTaskServer(TaskManager taskManager) throws IOException {
+        this(taskManager, new MetricsRegistry());
+    }
+
+    // Request metrics are added to the given registry, which may also hold TaskManager metrics
+    public HttpTaskServer(TaskManager taskManager, MetricsRegistry metricsRegistry) throws IOException {
+        this(taskManager, Executors.newVirtualThreadPerTaskExecutor(), metricsRegistry);
+    }
+
+    // Requests are served by a bounded pool of platform threads
+    public HttpTaskServer(TaskManager taskManager, int threadPoolSize) throws IOException {
+        this(taskManager, Executors.newFixedThreadPool(threadPoolSize), new MetricsRegistry());
+    }
+
+    private HttpTaskServer(TaskManager taskManager, ExecutorService executor, MetricsRegistry metricsRegistry)
+            throws IOException {
+        this.executor = executor;
+        this.metricsRegistry = metricsRegistry;
         server = HttpServer.create(new InetSocketAddress(PORT), 0);
-        server.createContext("/tasks", new TasksHttpHandler(taskManager));
-        server.createContext("/subtasks", new SubtasksHttpHandler(taskManager));
-        server.createContext("/epics", new EpicsHttpHandler(taskManager));
-        server.createContext("/history", new HistoryHttpHandler(taskManager));
-        server.createContext("/prioritized", new PrioritizedTasksHttpHandler(taskManager));
+        server.setExecutor(executor);
+        createContext("/tasks", new TasksHttpHandler(taskManager));
+        createContext("/subtasks", new SubtasksHttpHandler(taskManager));
+        createContext("/epics", new EpicsHttpHandler(taskManager));
+        createContext("/history", new HistoryHttpHandler(taskManager));
+        createContext("/prioritized", new PrioritizedTasksHttpHandler(taskManager));
+        createContext("/schedule", new ScheduleHttpHandler(taskManager));
+        createContext("/search", new SearchHttpHandler(taskManager));
+        server.createContext("/metrics", new MetricsHttpHandler(metricsRegistry));
     }
 
+    // The file-backed board is changed under one lock, "--in-memory" serves a ConcurrentTaskManager without a file
     public static void main(String[] args) throws IOException {
-        TaskManager taskManager = Managers.getDefault();
-        HttpTaskServer taskServer = new HttpTaskServer(taskManager);
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        boolean isInMemory = args.length > 0 && IN_MEMORY_ARG.equals(args[0]);
+        TaskManager boardManager = isInMemory ? Managers.getConcurrent() : Managers.getDefault();
+        if (boardManager instanceof InMemoryTaskManager inMemoryTaskManager) {
+            inMemoryTaskManager.registerMetrics(metricsRegistry);
+        }
+        if (!isInMemory) {
+            boardManager = new SynchronizedTaskManager(boardManager);
+        }
+        TaskManager taskManager = new InstrumentedTaskManager(boardManager, metricsRegistry);
+        HttpTaskServer taskServer = new HttpTaskServer(taskManager, metricsRegistry);
         taskServer.start();
 
         // Test
@@ -62,12 +118,21 @@ public class HttpTaskServer {
         taskManager.createTask(task2);
     }
 
+    private void createContext(String path, HttpHandler handler) {
+        server.createContext(path, new InstrumentedHttpHandler(handler, metricsRegistry, path));
+    }
+
     public void start() {
         server.start();
     }
 
     public void stop() {
         server.stop(0);
+        executor.shutdown();
+    }
+
+    public MetricsRegistry getMetricsRegistry() {
+        return metricsRegistry;
     }
 
     public static Gson getGson() {
@@ -0,0 +1,42 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
+
+import java.io.IOException;
+
+// Records duration and response code of every request served by the wrapped handler
+public class InstrumentedHttpHandler implements HttpHandler {
+    private static final String DURATION_METRIC = "http_request_duration_seconds";
+    private static final String ERRORS_METRIC = "http_request_errors_total";
+
+    private final HttpHandler handler;
+    private final MetricsRegistry metricsRegistry;
+    private final String context;
+
+    public InstrumentedHttpHandler(HttpHandler handler, MetricsRegistry metricsRegistry, String context) {
+        this.handler = handler;
+        this.metricsRegistry = metricsRegistry;
+        this.context = context;
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        long startNanos = System.nanoTime();
+        try {
+            handler.handle(httpExchange);
+        } catch (IOException | RuntimeException e) {
+            metricsRegistry.counter(ERRORS_METRIC, "Requests failed with an exception",
+                    "context", context, "exception", e.getClass().getSimpleName()).increment();
+            throw e;
+        } finally {
+            metricsRegistry.histogram(DURATION_METRIC, "Duration of HTTP requests",
+                            "context", context,
+                            "method", httpExchange.getRequestMethod(),
+                            "code", Integer.toString(httpExchange.getResponseCode()))
+                    .observeNanos(System.nanoTime() - startNanos);
+        }
+    }
+}
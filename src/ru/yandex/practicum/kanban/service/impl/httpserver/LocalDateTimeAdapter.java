@@ -10,14 +10,66 @@ import java.time.format.DateTimeFormatter;
 
 public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+    private static final int MAX_FORMATTED_LENGTH = 35; // +999999999-12-31T23:59:59.999999999
+    private static final int NANO_DIGITS = 9;
 
     @Override
     public void write(final JsonWriter jsonWriter, final LocalDateTime localDateTime) throws IOException {
-        jsonWriter.value(localDateTime.format(FORMATTER));
+        jsonWriter.value(format(localDateTime));
     }
 
     @Override
     public LocalDateTime read(final JsonReader jsonReader) throws IOException {
-        return LocalDateTime.parse(jsonReader.nextString(), FORMATTER);
+        return parse(jsonReader.nextString());
     }
-}
\ No newline at end of file
+
+    // Same text as FORMATTER produces, digits are written directly instead of going through the formatter
+    public static String format(LocalDateTime localDateTime) {
+        char[] chars = new char[MAX_FORMATTED_LENGTH];
+        int position = 0;
+
+        int year = localDateTime.getYear();
+        if (year > 9999) {
+            chars[position++] = '+';
+        } else if (year < 0) {
+            chars[position++] = '-';
+        }
+        int absYear = Math.abs(year);
+        position = writeDigits(chars, position, absYear, Math.max(4, Integer.toString(absYear).length()));
+        chars[position++] = '-';
+        position = writeDigits(chars, position, localDateTime.getMonthValue(), 2);
+        chars[position++] = '-';
+        position = writeDigits(chars, position, localDateTime.getDayOfMonth(), 2);
+        chars[position++] = 'T';
+        position = writeDigits(chars, position, localDateTime.getHour(), 2);
+        chars[position++] = ':';
+        position = writeDigits(chars, position, localDateTime.getMinute(), 2);
+        chars[position++] = ':';
+        position = writeDigits(chars, position, localDateTime.getSecond(), 2);
+
+        int nano = localDateTime.getNano();
+        if (nano > 0) {
+            chars[position++] = '.';
+            int fractionDigits = NANO_DIGITS;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                --fractionDigits;
+            }
+            position = writeDigits(chars, position, nano, fractionDigits);
+        }
+
+        return new String(chars, 0, position);
+    }
+
+    public static LocalDateTime parse(String text) {
+        return LocalDateTime.parse(text, FORMATTER);
+    }
+
+    private static int writeDigits(char[] chars, int position, int value, int digitsCnt) {
+        for (int i = position + digitsCnt - 1; i >= position; --i) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + digitsCnt;
+    }
+}
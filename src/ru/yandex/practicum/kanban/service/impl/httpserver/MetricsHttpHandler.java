@@ -0,0 +1,35 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public class MetricsHttpHandler implements HttpHandler {
+    private final MetricsRegistry metricsRegistry;
+
+    public MetricsHttpHandler(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public void handle(HttpExchange httpExchange) throws IOException {
+        if (!httpExchange.getRequestMethod().equals("GET")) {
+            httpExchange.getResponseHeaders().add("Allow", "GET");
+            httpExchange.sendResponseHeaders(HttpTaskServer.METHOD_NOT_ALLOWED_405, -1);
+            httpExchange.close();
+            return;
+        }
+
+        byte[] responseBytes = metricsRegistry.writePrometheus().getBytes(HttpTaskServer.DEFAULT_CHARSET);
+        httpExchange.getResponseHeaders().add("Content-Type", MetricsRegistry.PROMETHEUS_CONTENT_TYPE);
+        httpExchange.sendResponseHeaders(HttpTaskServer.OK_200, responseBytes.length);
+
+        try (OutputStream oStream = httpExchange.getResponseBody()) {
+            oStream.write(responseBytes);
+        }
+    }
+}
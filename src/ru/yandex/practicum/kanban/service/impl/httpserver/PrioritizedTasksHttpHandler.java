@@ -7,18 +7,72 @@ import ru.yandex.practicum.kanban.service.api.TaskManager;
 
 import java.io.IOException;
 
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
 import java.util.List;
 
 public class PrioritizedTasksHttpHandler extends BaseHttpHandler {
+    private static final String POSITION_DELIMITER = "/";
 
     public PrioritizedTasksHttpHandler(TaskManager taskManager) {
         super(taskManager);
     }
 
+    @Override
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return true;
+    }
+
     @Override
     protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
-        List<Task> history = taskManager.getPrioritizedTasks();
-        String response = gson.toJson(history);
-        sendResponse(httpExchange, response, HttpTaskServer.OK_200);
+        if (isRangeRequested(httpExchange)) {
+            handleRangeRequest(httpExchange);
+            return;
+        }
+        if (isPageRequested(httpExchange)) {
+            sendPage(httpExchange, this::getPage,
+                    task -> task.getStartDateTime() + POSITION_DELIMITER + task.getId());
+            return;
+        }
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+        sendListResponse(httpExchange, prioritizedTasks, HttpTaskServer.OK_200);
+    }
+
+    private boolean isRangeRequested(HttpExchange httpExchange) {
+        return getQueryParameter(httpExchange, "from").isPresent()
+                || getQueryParameter(httpExchange, "to").isPresent();
+    }
+
+    // Tasks that run in [from, to), the limit is optional here and keeps the first tasks of the range
+    private void handleRangeRequest(HttpExchange httpExchange) throws IOException {
+        List<Task> tasksInRange;
+        try {
+            LocalDateTime from = getQueryParameter(httpExchange, "from").map(LocalDateTime::parse).orElse(null);
+            LocalDateTime to = getQueryParameter(httpExchange, "to").map(LocalDateTime::parse).orElse(null);
+            int limit = getQueryParameter(httpExchange, "limit").map(Integer::parseInt).orElse(Integer.MAX_VALUE);
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            tasksInRange = taskManager.getPrioritizedTasks(from, to, limit);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+        sendListResponse(httpExchange, tasksInRange, HttpTaskServer.OK_200);
+    }
+
+    // The position is the start date&time and ID of the last task, the order of prioritized tasks
+    private List<Task> getPage(String afterPosition, int limit) {
+        if (afterPosition == null) {
+            return taskManager.getPrioritizedTasksPage(null, null, limit);
+        }
+        int delimiterIndex = afterPosition.lastIndexOf(POSITION_DELIMITER);
+        if (delimiterIndex < 0) {
+            throw new IllegalArgumentException("Invalid cursor position: " + afterPosition);
+        }
+        LocalDateTime afterStartDateTime = LocalDateTime.parse(afterPosition.substring(0, delimiterIndex));
+        Integer afterID = Integer.valueOf(afterPosition.substring(delimiterIndex + 1));
+        return taskManager.getPrioritizedTasksPage(afterStartDateTime, afterID, limit);
     }
 }
\ No newline at end of file
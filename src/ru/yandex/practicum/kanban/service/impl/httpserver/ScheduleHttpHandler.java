@@ -0,0 +1,45 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+
+import java.io.IOException;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class ScheduleHttpHandler extends BaseHttpHandler {
+    private static final String FREE_SLOT_PATH_PART = "free-slot";
+    private static final int ACTION_INDEX_IN_REQUEST_PATH = 2;
+
+    public ScheduleHttpHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    // GET /schedule/free-slot?duration=PT30M&after=2024-06-09T10:00 returns the start of the slot, now by default
+    @Override
+    protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
+        String[] pathParts = httpExchange.getRequestURI().getPath().split("/");
+        if (pathParts.length <= ACTION_INDEX_IN_REQUEST_PATH
+                || !FREE_SLOT_PATH_PART.equals(pathParts[ACTION_INDEX_IN_REQUEST_PATH])) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.NOT_FOUND_404);
+            return;
+        }
+
+        LocalDateTime slotStartDateTime;
+        try {
+            Duration duration = Duration.parse(getQueryParameter(httpExchange, "duration")
+                    .orElseThrow(() -> new IllegalArgumentException("Duration is required")));
+            LocalDateTime after = getQueryParameter(httpExchange, "after")
+                    .map(LocalDateTime::parse)
+                    .orElseGet(LocalDateTime::now);
+            slotStartDateTime = taskManager.findFreeSlot(duration, after);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+        sendResponse(httpExchange, gson.toJson(slotStartDateTime), HttpTaskServer.OK_200);
+    }
+}
@@ -0,0 +1,43 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+
+import java.io.IOException;
+
+import java.util.List;
+
+public class SearchHttpHandler extends BaseHttpHandler {
+
+    public SearchHttpHandler(TaskManager taskManager) {
+        super(taskManager);
+    }
+
+    @Override
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return true;
+    }
+
+    // GET /search?q=vivaldi%20seas&limit=10 returns IDs of the best matches, every query word may be a prefix
+    @Override
+    protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
+        List<Integer> ids;
+        try {
+            String query = getQueryParameter(httpExchange, "q")
+                    .filter(q -> !q.isBlank())
+                    .orElseThrow(() -> new IllegalArgumentException("Query is required"));
+            int limit = getQueryParameter(httpExchange, "limit")
+                    .map(Integer::parseInt)
+                    .orElse(DEFAULT_PAGE_LIMIT);
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive");
+            }
+            ids = taskManager.search(query, Math.min(limit, MAX_PAGE_LIMIT));
+        } catch (IllegalArgumentException e) {
+            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
+            return;
+        }
+        sendResponse(httpExchange, gson.toJson(ids), HttpTaskServer.OK_200);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ru.yandex.practicum.kanban.model.Subtask;
+import ru.yandex.practicum.kanban.model.Task;
+
+import java.io.IOException;
+import java.util.Objects;
+
+public class SubtaskAdapter extends TypeAdapter<Subtask> {
+    @Override
+    public void write(final JsonWriter jsonWriter, final Subtask subtask) throws IOException {
+        if (subtask == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        TaskAdapter.writeInteger(jsonWriter.name("epicID"), subtask.getEpicID());
+        TaskAdapter.writeTaskFields(jsonWriter, subtask);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Subtask read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        Subtask subtask = new Subtask(null, null, null, null);
+        Integer epicID = subtask.getEpicID();
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String name = jsonReader.nextName();
+            if (name.equals("epicID")) {
+                epicID = TaskAdapter.readInteger(jsonReader);
+            } else {
+                TaskAdapter.readTaskField(jsonReader, name, subtask);
+            }
+        }
+        jsonReader.endObject();
+
+        // Set once the ID is known, Subtask.setEpicID() checks it against the ID. Both are INVALID_ID when not given
+        if (epicID != null && !epicID.equals(Task.INVALID_ID) && epicID.equals(subtask.getId())) {
+            throw new JsonParseException("Subtask " + epicID + " cannot be its own Epic");
+        }
+        if (!Objects.equals(epicID, subtask.getEpicID())) {
+            subtask.setEpicID(epicID);
+        }
+        return subtask;
+    }
+}
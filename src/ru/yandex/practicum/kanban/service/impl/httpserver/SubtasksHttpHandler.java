@@ -1,5 +1,6 @@
 package ru.yandex.practicum.kanban.service.impl.httpserver;
 
+import com.google.gson.JsonParseException;
 import com.sun.net.httpserver.HttpExchange;
 
 import ru.yandex.practicum.kanban.model.Subtask;
@@ -17,19 +18,26 @@ public class SubtasksHttpHandler extends BaseHttpHandler {
         super(taskManager);
     }
 
+    @Override
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return isListRequest(httpExchange);
+    }
+
     @Override
     protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
         try {
-            String response;
             Optional<Integer> maybeId = getId(httpExchange);
             if (maybeId.isPresent()) {
                 Subtask subtask = taskManager.getSubtaskByID(maybeId.get());
-                response = gson.toJson(subtask);
+                sendResponse(httpExchange, gson.toJson(subtask), HttpTaskServer.OK_200);
+            } else if (isStatusRequested(httpExchange)) {
+                sendListByStatus(httpExchange, taskManager::getSubtasksByStatus);
+            } else if (isPageRequested(httpExchange)) {
+                sendPageByID(httpExchange, taskManager::getSubtasksPage);
             } else {
                 List<Subtask> subtasks = taskManager.getAllSubtasks();
-                response = gson.toJson(subtasks);
+                sendListResponse(httpExchange, subtasks, HttpTaskServer.OK_200);
             }
-            sendResponse(httpExchange, response, HttpTaskServer.OK_200);
         } catch (NumberFormatException e) {
             sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (NotFoundException e) {
@@ -39,20 +47,26 @@ public class SubtasksHttpHandler extends BaseHttpHandler {
 
     @Override
     protected void handlePostRequest(HttpExchange httpExchange) throws IOException {
+        if (isBatchRequest(httpExchange)) {
+            handleBatchPostRequest(httpExchange, Subtask.class, taskManager::createSubtasks);
+            return;
+        }
         String requestBody = new String(httpExchange.getRequestBody().readAllBytes(), HttpTaskServer.DEFAULT_CHARSET);
-        Subtask subtask = gson.fromJson(requestBody, Subtask.class);
         int rCode = HttpTaskServer.CREATED_201;
         try {
+            Subtask subtask = gson.fromJson(requestBody, Subtask.class);
             Optional<Integer> maybeId = getId(httpExchange);
             if (maybeId.isPresent()) {
                 taskManager.updateSubtask(subtask);
+            } else if (isAutoPlaceRequested(httpExchange)) {
+                taskManager.createSubtaskInFreeSlot(subtask);
             } else {
                 taskManager.createSubtask(subtask);
             }
-        } catch (NumberFormatException e) {
-            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (DateTimeOverlapException e) {
             rCode = HttpTaskServer.NOT_ACCEPTABLE_406;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            rCode = HttpTaskServer.BAD_REQUEST_400;
         }
         sendResponse(httpExchange, EMPTY_RESPONSE, rCode);
     }
@@ -0,0 +1,122 @@
+package ru.yandex.practicum.kanban.service.impl.httpserver;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * Writes the same JSON as reflective Gson did: fields in declaration order, fields of a subclass first,
+ * nulls included. Fields missing in the input keep the values set by the constructor.
+ * The type is not read: it is set by the constructor of the adapted class, so a Task is never read as a Subtask.
+ */
+public class TaskAdapter extends TypeAdapter<Task> {
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    @Override
+    public void write(final JsonWriter jsonWriter, final Task task) throws IOException {
+        if (task == null) {
+            jsonWriter.nullValue();
+            return;
+        }
+        jsonWriter.beginObject();
+        writeTaskFields(jsonWriter, task);
+        jsonWriter.endObject();
+    }
+
+    @Override
+    public Task read(final JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        Task task = new Task(null, null, null, null);
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            readTaskField(jsonReader, jsonReader.nextName(), task);
+        }
+        jsonReader.endObject();
+        return task;
+    }
+
+    static void writeTaskFields(JsonWriter jsonWriter, Task task) throws IOException {
+        jsonWriter.name("name").value(task.getName());
+        jsonWriter.name("description").value(task.getDescription());
+        writeInteger(jsonWriter.name("id"), task.getId());
+        writeEnum(jsonWriter.name("status"), task.getStatus());
+        writeEnum(jsonWriter.name("type"), task.getType());
+        writeDateTime(jsonWriter.name("startDateTime"), task.getStartDateTime());
+        Duration duration = task.getDuration();
+        jsonWriter.name("duration").value(duration == null ? null : duration.toString());
+    }
+
+    static void readTaskField(JsonReader jsonReader, String name, Task task) throws IOException {
+        switch (name) {
+            case "name" -> task.setName(readString(jsonReader));
+            case "description" -> task.setDescription(readString(jsonReader));
+            case "id" -> task.setId(readInteger(jsonReader));
+            case "status" -> task.setStatus(readEnum(jsonReader, STATUSES));
+            case "startDateTime" -> task.setStartDateTime(readDateTime(jsonReader));
+            case "duration" -> {
+                String duration = readString(jsonReader);
+                task.setDuration(duration == null ? null : Duration.parse(duration));
+            }
+            default -> jsonReader.skipValue();
+        }
+    }
+
+    static void writeInteger(JsonWriter jsonWriter, Integer value) throws IOException {
+        if (value == null) {
+            jsonWriter.nullValue();
+        } else {
+            jsonWriter.value(value.longValue());
+        }
+    }
+
+    static void writeDateTime(JsonWriter jsonWriter, LocalDateTime dateTime) throws IOException {
+        jsonWriter.value(dateTime == null ? null : LocalDateTimeAdapter.format(dateTime));
+    }
+
+    static Integer readInteger(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        return jsonReader.nextInt();
+    }
+
+    static LocalDateTime readDateTime(JsonReader jsonReader) throws IOException {
+        String dateTime = readString(jsonReader);
+        return dateTime == null ? null : LocalDateTimeAdapter.parse(dateTime);
+    }
+
+    private static void writeEnum(JsonWriter jsonWriter, Enum<?> value) throws IOException {
+        jsonWriter.value(value == null ? null : value.name());
+    }
+
+    private static String readString(JsonReader jsonReader) throws IOException {
+        if (jsonReader.peek() == JsonToken.NULL) {
+            jsonReader.nextNull();
+            return null;
+        }
+        return jsonReader.nextString();
+    }
+
+    // Unknown names are read as null, as Gson does for enums
+    private static <E extends Enum<E>> E readEnum(JsonReader jsonReader, E[] values) throws IOException {
+        String name = readString(jsonReader);
+        for (E value : values) {
+            if (value.name().equals(name)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
@@ -1,5 +1,6 @@
 package ru.yandex.practicum.kanban.service.impl.httpserver;
 
+import com.google.gson.JsonParseException;
 import com.sun.net.httpserver.HttpExchange;
 
 import ru.yandex.practicum.kanban.model.Task;
@@ -18,20 +19,27 @@ public class TasksHttpHandler extends BaseHttpHandler {
         super(taskManager);
     }
 
+    @Override
+    protected boolean isVersioned(HttpExchange httpExchange) {
+        return isListRequest(httpExchange);
+    }
+
     @Override
     protected void handleGetRequest(HttpExchange httpExchange) throws IOException {
         try {
-            String response;
             Optional<Integer> maybeId = getId(httpExchange);
 
             if (maybeId.isPresent()) {
                 Task task = taskManager.getTaskByID(maybeId.get());
-                response = gson.toJson(task);
+                sendResponse(httpExchange, gson.toJson(task), HttpTaskServer.OK_200);
+            } else if (isStatusRequested(httpExchange)) {
+                sendListByStatus(httpExchange, taskManager::getTasksByStatus);
+            } else if (isPageRequested(httpExchange)) {
+                sendPageByID(httpExchange, taskManager::getTasksPage);
             } else {
                 List<Task> tasks = taskManager.getAllTasks();
-                response = gson.toJson(tasks);
+                sendListResponse(httpExchange, tasks, HttpTaskServer.OK_200);
             }
-            sendResponse(httpExchange, response, HttpTaskServer.OK_200);
         } catch (NumberFormatException e) {
             sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (NotFoundException e) {
@@ -41,21 +49,27 @@ public class TasksHttpHandler extends BaseHttpHandler {
 
     @Override
     protected void handlePostRequest(HttpExchange httpExchange) throws IOException {
+        if (isBatchRequest(httpExchange)) {
+            handleBatchPostRequest(httpExchange, Task.class, taskManager::createTasks);
+            return;
+        }
         String requestBody = new String(httpExchange.getRequestBody().readAllBytes(), HttpTaskServer.DEFAULT_CHARSET);
-        Task task = gson.fromJson(requestBody, Task.class);
         int rCode = HttpTaskServer.CREATED_201;
 
         try {
+            Task task = gson.fromJson(requestBody, Task.class);
             Optional<Integer> maybeId = getId(httpExchange);
             if (maybeId.isPresent()) {
                 taskManager.updateTask(task);
+            } else if (isAutoPlaceRequested(httpExchange)) {
+                taskManager.createTaskInFreeSlot(task);
             } else {
                 taskManager.createTask(task);
             }
-        } catch (NumberFormatException e) {
-            sendResponse(httpExchange, EMPTY_RESPONSE, HttpTaskServer.BAD_REQUEST_400);
         } catch (DateTimeOverlapException e) {
             rCode = HttpTaskServer.NOT_ACCEPTABLE_406;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            rCode = HttpTaskServer.BAD_REQUEST_400;
         }
         sendResponse(httpExchange, EMPTY_RESPONSE, rCode);
     }
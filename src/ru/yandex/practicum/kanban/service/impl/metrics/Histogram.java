@@ -0,0 +1,69 @@
+package ru.yandex.practicum.kanban.service.impl.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Latency histogram with fixed buckets in seconds, observations are added without locking
+public class Histogram {
+    static final double[] BUCKETS = {0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1,
+            0.25, 0.5, 1, 2.5, 5, 10};
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final LongAdder[] bucketCounts = new LongAdder[BUCKETS.length + 1]; // The last one is +Inf
+    private final LongAdder sumNanos = new LongAdder();
+
+    public Histogram() {
+        for (int bucket = 0; bucket < bucketCounts.length; ++bucket) {
+            bucketCounts[bucket] = new LongAdder();
+        }
+    }
+
+    public void observeNanos(long nanos) {
+        double seconds = nanos / NANOS_PER_SECOND;
+        int bucket = 0;
+        while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+            ++bucket;
+        }
+        bucketCounts[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    public <T> T time(Supplier<T> action) {
+        long startNanos = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            observeNanos(System.nanoTime() - startNanos);
+        }
+    }
+
+    public void time(Runnable action) {
+        time(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Cumulative counts as in the Prometheus format, the last element is the total count
+    long[] getCumulativeCounts() {
+        long[] counts = new long[bucketCounts.length];
+        long count = 0;
+        for (int bucket = 0; bucket < bucketCounts.length; ++bucket) {
+            count += bucketCounts[bucket].sum();
+            counts[bucket] = count;
+        }
+        return counts;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (LongAdder bucketCount : bucketCounts) {
+            count += bucketCount.sum();
+        }
+        return count;
+    }
+
+    public double getSumSeconds() {
+        return sumNanos.sum() / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,104 @@
+package ru.yandex.practicum.kanban.service.impl.metrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+
+/*
+ * Named counters, histograms and gauges, written in the Prometheus text format by writePrometheus().
+ * Labels are given as name-value pairs, e.g. counter("errors_total", "Errors", "operation", "createTask").
+ */
+public class MetricsRegistry {
+    public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private enum MetricType {
+        COUNTER, HISTOGRAM, GAUGE
+    }
+
+    private record Family(MetricType type, String help, Map<String, Object> metricsByLabels) {
+    }
+
+    private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+    public Counter counter(String name, String help, String... labels) {
+        return (Counter) getMetric(name, help, MetricType.COUNTER, labels, key -> new Counter());
+    }
+
+    public Histogram histogram(String name, String help, String... labels) {
+        return (Histogram) getMetric(name, help, MetricType.HISTOGRAM, labels, key -> new Histogram());
+    }
+
+    // The value is read on every scrape
+    public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+        getMetric(name, help, MetricType.GAUGE, labels, key -> value);
+    }
+
+    public String writePrometheus() {
+        StringBuilder builder = new StringBuilder();
+
+        families.forEach((name, family) -> {
+            builder.append("# HELP ").append(name).append(' ').append(family.help()).append('\n');
+            builder.append("# TYPE ").append(name).append(' ')
+                    .append(family.type().name().toLowerCase()).append('\n');
+
+            family.metricsByLabels().forEach((labels, metric) -> {
+                switch (family.type()) {
+                    case COUNTER -> appendSample(builder, name, labels, ((Counter) metric).get());
+                    case GAUGE -> appendSample(builder, name, labels, ((DoubleSupplier) metric).getAsDouble());
+                    case HISTOGRAM -> appendHistogram(builder, name, labels, (Histogram) metric);
+                }
+            });
+        });
+
+        return builder.toString();
+    }
+
+    private Object getMetric(String name, String help, MetricType type, String[] labels,
+                             Function<String, Object> metricFactory) {
+        if (labels.length % 2 != 0) {
+            throw new IllegalArgumentException("Labels must be name-value pairs!");
+        }
+        Family family = families.computeIfAbsent(name,
+                key -> new Family(type, help, new ConcurrentSkipListMap<>()));
+        if (family.type() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is a " + family.type());
+        }
+        return family.metricsByLabels().computeIfAbsent(formatLabels(labels), metricFactory);
+    }
+
+    private static String formatLabels(String[] labels) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            builder.append(builder.isEmpty() ? "" : ",").append(labels[i]).append("=\"")
+                    .append(labels[i + 1].replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        return builder.toString();
+    }
+
+    private static void appendSample(StringBuilder builder, String name, String labels, double value) {
+        builder.append(name);
+        if (!labels.isEmpty()) {
+            builder.append('{').append(labels).append('}');
+        }
+        builder.append(' ').append(formatValue(value)).append('\n');
+    }
+
+    private static void appendHistogram(StringBuilder builder, String name, String labels, Histogram histogram) {
+        long[] counts = histogram.getCumulativeCounts();
+        String labelsPrefix = labels.isEmpty() ? "" : labels + ",";
+
+        for (int bucket = 0; bucket < counts.length; ++bucket) {
+            String bound = bucket < Histogram.BUCKETS.length ? formatValue(Histogram.BUCKETS[bucket]) : "+Inf";
+            appendSample(builder, name + "_bucket", labelsPrefix + "le=\"" + bound + "\"", counts[bucket]);
+        }
+        appendSample(builder, name + "_sum", labels, histogram.getSumSeconds());
+        appendSample(builder, name + "_count", labels, counts[counts.length - 1]);
+    }
+
+    private static String formatValue(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value)
+                : Double.toString(value);
+    }
+}
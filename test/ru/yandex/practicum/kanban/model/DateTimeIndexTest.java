@@ -0,0 +1,105 @@
+package ru.yandex.practicum.kanban.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateTimeIndexTest {
+    private final LocalDateTime startDateTime = LocalDateTime.of(2024, Month.JULY, 11, 19, 0);
+    private final Duration duration = Duration.ofMinutes(30);
+    private DateTimeIndex index;
+    private Task task1;
+    private Task task2;
+
+    @BeforeEach
+    protected void testInit() {
+        index = new DateTimeIndex();
+        // task1 @ 19:00 ---- 19:30
+        // task2 @                 20:00 ---- 20:30
+        task1 = createTask(1, startDateTime, duration);
+        task2 = createTask(2, startDateTime.plusHours(1), duration);
+        index.add(task2);
+        index.add(task1);
+    }
+
+    private Task createTask(Integer id, LocalDateTime startDateTime, Duration duration) {
+        Task task = new Task("Task" + id, "DateTimeIndex test", startDateTime, duration);
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    public void testGetTasksReturnsTasksSortedByStartDateTime() {
+        assertEquals(List.of(task1, task2), index.getTasks(), "Wrong task order!");
+    }
+
+    @Test
+    public void testFindOverlapReturnsOverlappedTask() {
+        Task task3 = createTask(3, startDateTime.plusMinutes(50), duration);
+        assertEquals(task2, index.findOverlap(task3).orElse(null), "Overlap with Task2 was not found!");
+    }
+
+    @Test
+    public void testFindOverlapReturnsEmptyForTaskInGap() {
+        Task task3 = createTask(3, task1.getEndDateTime(), duration);
+        assertTrue(index.findOverlap(task3).isEmpty(), "Task3 fits between Task1 and Task2!");
+    }
+
+    @Test
+    public void testFindOverlapIgnoresTaskWithSameId() {
+        Task movedTask1 = createTask(1, startDateTime.plusMinutes(15), duration);
+        assertTrue(index.findOverlap(movedTask1).isEmpty(), "Task1 overlaps with itself!");
+    }
+
+    @Test
+    public void testFindOverlapChecksTaskBehindZeroDurationTask() {
+        Task zeroDurationTask = createTask(3, startDateTime, Duration.ZERO);
+        index.add(zeroDurationTask);
+        Task task4 = createTask(4, startDateTime.plusMinutes(15), duration);
+
+        assertEquals(task1, index.findOverlap(task4).orElse(null), "Overlap with Task1 was not found!");
+    }
+
+    @Test
+    public void testAddReplacesEntryOfChangedTask() {
+        task1.setStartDateTime(startDateTime.plusHours(2));
+        index.add(task1);
+
+        assertEquals(List.of(task2, task1), index.getTasks(), "Task1 was not moved!");
+        assertEquals(2, index.size(), "Old Task1 entry was not removed!");
+    }
+
+    @Test
+    public void testAddAllBuildsSortedIndex() {
+        Task task3 = createTask(3, startDateTime.minusHours(1), duration);
+        DateTimeIndex bulkIndex = new DateTimeIndex();
+
+        assertTrue(bulkIndex.addAll(List.of(task2, task3, task1)).isEmpty(), "Tasks do not overlap!");
+        assertEquals(List.of(task3, task1, task2), bulkIndex.getTasks(), "Wrong task order!");
+        assertEquals(duration.multipliedBy(3), bulkIndex.getTotalDuration(), "Wrong total duration!");
+        assertEquals(task1, bulkIndex.findOverlap(createTask(4, startDateTime, duration)).orElse(null),
+                "Overlap with Task1 was not found!");
+    }
+
+    @Test
+    public void testAddAllReturnsOverlappedTaskAndAddsNothing() {
+        Task zeroDurationTask = createTask(3, startDateTime, Duration.ZERO);
+        Task task4 = createTask(4, startDateTime.plusMinutes(15), duration);
+        DateTimeIndex bulkIndex = new DateTimeIndex();
+
+        assertTrue(bulkIndex.addAll(List.of(task1, zeroDurationTask, task2)).isEmpty(),
+                "Zero duration task at the start of Task1 does not overlap!");
+        assertEquals(task4, new DateTimeIndex().addAll(List.of(task1, zeroDurationTask, task4)).orElse(null),
+                "Overlap with Task1 was not found!");
+
+        DateTimeIndex failedIndex = new DateTimeIndex();
+        failedIndex.addAll(List.of(task1, task4));
+        assertTrue(failedIndex.isEmpty(), "Tasks were added despite overlap!");
+    }
+}
@@ -0,0 +1,67 @@
+package ru.yandex.practicum.kanban.model;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    private final LocalDateTime startDateTime = LocalDateTime.of(2024, Month.JULY, 11, 19, 0);
+    private final Duration duration = Duration.ofMinutes(30);
+    private SearchIndex index;
+    private Task task1;
+    private Task task2;
+    private Task task3;
+
+    @BeforeEach
+    protected void testInit() {
+        index = new SearchIndex();
+        task1 = createTask(1, "Violin", "Try to play Vivaldi \"The Four Seasons\"");
+        task2 = createTask(2, "Cleaning", "Vacuum and wash the floors, then play violin");
+        task3 = createTask(3, "Seasonal sale", "Buy a new violin case");
+        index.add(task1);
+        index.add(task2);
+        index.add(task3);
+    }
+
+    private Task createTask(Integer id, String name, String description) {
+        Task task = new Task(name, description, startDateTime, duration);
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    public void testSearchRanksWordsInNameHigher() {
+        assertEquals(List.of(1, 2, 3), index.search("VIOLIN", 10), "Wrong rank of matches!");
+        assertEquals(List.of(1), index.search("violin", 1), "Limit is ignored!");
+    }
+
+    @Test
+    public void testSearchMatchesPrefixesAndRanksWholeWordsHigher() {
+        index.add(createTask(4, "Tickets", "Season tickets"));
+
+        assertEquals(List.of(3, 4, 1), index.search("season", 10), "Wrong rank of prefix matches!");
+        assertEquals(List.of(3), index.search("seasonal", 10), "Longer word matches a shorter one!");
+    }
+
+    @Test
+    public void testSearchRequiresEveryWordOfQuery() {
+        assertEquals(List.of(1, 2), index.search("play vi", 10), "Wrong matches of all words!");
+        assertTrue(index.search("violin vacuum sale", 10).isEmpty(), "Items without every word are found!");
+    }
+
+    @Test
+    public void testRemoveAndChangedTextAreNotFound() {
+        index.remove(2);
+        task1.setName("Cello");
+        index.add(task1);
+
+        assertEquals(List.of(3), index.search("violin", 10), "Removed or changed items are found!");
+        assertEquals(List.of(1), index.search("cello", 10), "New text is not found!");
+    }
+}
@@ -0,0 +1,105 @@
+package ru.yandex.practicum.kanban.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.HistoryManager;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentHistoryManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentHistoryManagerTest {
+    private static final int MAX_SIZE = 3;
+    private HistoryManager historyManager;
+
+    @BeforeEach
+    public void testInit() {
+        historyManager = new ConcurrentHistoryManager(MAX_SIZE);
+    }
+
+    private Task createTask(int id) {
+        Task task = new Task("Task" + id, "History test", LocalDateTime.now(), Duration.ofMinutes(30));
+        task.setId(id);
+        return task;
+    }
+
+    @Test
+    public void testGetHistoryReturnsNullIfEmpty() {
+        assertNull(historyManager.getHistory(), "Empty history is not null!");
+    }
+
+    @Test
+    public void testAddMovesViewedTaskToEnd() {
+        Task task1 = createTask(1);
+        Task task2 = createTask(2);
+        historyManager.add(task1);
+        historyManager.add(task2);
+        historyManager.add(task1);
+
+        assertEquals(List.of(task2, task1), historyManager.getHistory(), "Wrong history order!");
+    }
+
+    @Test
+    public void testAddEvictsOldestViewWhenFull() {
+        for (int id = 1; id <= MAX_SIZE + 1; ++id) {
+            historyManager.add(createTask(id));
+        }
+        List<Task> history = historyManager.getHistory();
+
+        assertEquals(MAX_SIZE, history.size(), "History is not bounded!");
+        assertEquals(2, (int) history.getFirst().getId(), "Oldest view was not evicted!");
+    }
+
+    @Test
+    public void testGetHistoryWithNotPositiveLimitReturnsNoViews() {
+        Task task2 = createTask(2);
+        historyManager.add(createTask(1));
+        historyManager.add(task2);
+
+        assertEquals(List.of(task2), historyManager.getHistory(1), "Wrong recent views!");
+        assertEquals(List.of(), historyManager.getHistory(0), "Zero limit returned views!");
+        assertEquals(List.of(), historyManager.getHistory(-1), "Negative limit returned views!");
+    }
+
+    @Test
+    public void testRemoveDeletesBufferedView() {
+        historyManager.add(createTask(1));
+        historyManager.remove(1);
+
+        assertNull(historyManager.getHistory(), "Task was not removed from history!");
+    }
+
+    @Test
+    public void testConcurrentAddsKeepEveryTaskOnce() throws Exception {
+        int threadsCnt = 8;
+        int viewsPerThread = 10_000;
+        HistoryManager concurrentHistory = new ConcurrentHistoryManager(100);
+        ExecutorService executor = Executors.newFixedThreadPool(threadsCnt);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < threadsCnt; ++thread) {
+            futures.add(executor.submit(() -> {
+                for (int view = 0; view < viewsPerThread; ++view) {
+                    concurrentHistory.add(createTask(view % 50));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        List<Task> history = concurrentHistory.getHistory();
+        assertEquals(50, history.size(), "Wrong history size!");
+        assertEquals(50, history.stream().map(Task::getId).distinct().count(), "History has duplicates!");
+    }
+}
@@ -0,0 +1,180 @@
+package ru.yandex.practicum.kanban.service;
+
+import org.junit.jupiter.api.Test;
+
+import ru.yandex.practicum.kanban.model.Epic;
+import ru.yandex.practicum.kanban.model.Subtask;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
+import ru.yandex.practicum.kanban.service.impl.BoardSnapshot;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentTaskManager;
+import ru.yandex.practicum.kanban.service.impl.DateTimeOverlapException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentTaskManagerTest extends TaskManagerTest<ConcurrentTaskManager> {
+    private static final int THREADS_CNT = 8;
+    private static final int EPICS_PER_THREAD = 20;
+    private static final int SUBTASKS_PER_EPIC = 10;
+
+    public ConcurrentTaskManagerTest() {
+        taskManager = new ConcurrentTaskManager();
+    }
+
+    private void runConcurrently(Callable<Void> action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS_CNT);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+
+        for (int thread = 0; thread < THREADS_CNT; ++thread) {
+            futures.add(executor.submit(() -> {
+                startLatch.await();
+                return action.call();
+            }));
+        }
+        startLatch.countDown();
+
+        try {
+            for (Future<Void> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentChangesOfIndependentEpicsKeepManagerConsistent() throws Exception {
+        taskManager.removeAllEpic();
+        taskManager.removeAllTasks();
+        AtomicInteger slotCounter = new AtomicInteger();
+        LocalDateTime baseDateTime = startDateTime.plusDays(1);
+
+        runConcurrently(() -> {
+            for (int epicIndex = 0; epicIndex < EPICS_PER_THREAD; ++epicIndex) {
+                Integer epicID = taskManager.createEpic(new Epic("Epic", "Stress test"));
+                List<Integer> subtaskIDs = new ArrayList<>();
+
+                for (int subtaskIndex = 0; subtaskIndex < SUBTASKS_PER_EPIC; ++subtaskIndex) {
+                    LocalDateTime slot = baseDateTime.plus(duration.multipliedBy(slotCounter.getAndIncrement()));
+                    Subtask subtask = new Subtask("Subtask", "Stress test", slot, duration);
+                    subtask.setEpicID(epicID);
+                    subtaskIDs.add(taskManager.createSubtask(subtask));
+                }
+
+                Subtask doneSubtask = taskManager.getSubtaskByID(subtaskIDs.getFirst());
+                doneSubtask.setStatus(TaskStatus.DONE);
+                taskManager.updateSubtask(doneSubtask);
+                taskManager.removeSubtaskByID(subtaskIDs.getLast());
+            }
+            return null;
+        });
+
+        int epicsCnt = THREADS_CNT * EPICS_PER_THREAD;
+        int subtasksCnt = epicsCnt * (SUBTASKS_PER_EPIC - 1);
+        assertEquals(epicsCnt, taskManager.getAllEpic().size(), "Wrong number of Epics!");
+        assertEquals(subtasksCnt, taskManager.getAllSubtasks().size(), "Wrong number of Subtasks!");
+        assertEquals(subtasksCnt, taskManager.getPrioritizedTasks().size(), "Wrong number of prioritized tasks!");
+
+        Set<Integer> ids = new HashSet<>();
+        taskManager.getAllEpic().forEach(epic -> ids.add(epic.getId()));
+        taskManager.getAllSubtasks().forEach(subtask -> ids.add(subtask.getId()));
+        assertEquals(epicsCnt + subtasksCnt, ids.size(), "IDs are not unique!");
+
+        for (Epic epic : taskManager.getAllEpic()) {
+            assertEquals(SUBTASKS_PER_EPIC - 1, epic.getAllSubtaskIDs().size(), "Wrong number of Epic Subtasks!");
+            assertEquals(TaskStatus.IN_PROGRESS, epic.getStatus(), "Wrong Epic status!");
+        }
+    }
+
+    @Test
+    public void testConcurrentCreationOfOverlappingTasksAcceptsOnlyOne() throws Exception {
+        LocalDateTime slot = startDateTime.plusDays(1);
+        AtomicInteger createdCnt = new AtomicInteger();
+        AtomicInteger rejectedCnt = new AtomicInteger();
+
+        runConcurrently(() -> {
+            try {
+                taskManager.createTask(new Task("Task", "Same slot", slot, duration));
+                createdCnt.incrementAndGet();
+            } catch (DateTimeOverlapException e) {
+                rejectedCnt.incrementAndGet();
+            }
+            return null;
+        });
+
+        assertEquals(1, createdCnt.get(), "Overlapping tasks were created!");
+        assertEquals(THREADS_CNT - 1, rejectedCnt.get(), "Wrong number of rejected tasks!");
+    }
+
+    @Test
+    public void testSnapshotIsSharedUntilNextChange() {
+        BoardSnapshot snapshot = taskManager.getSnapshot();
+        assertSame(snapshot, taskManager.getSnapshot(), "Snapshot was rebuilt without changes!");
+        assertSame(snapshot.tasks(), taskManager.getAllTasks(), "Tasks are not read from snapshot!");
+
+        taskManager.removeTaskByID(task1ID);
+        BoardSnapshot newSnapshot = taskManager.getSnapshot();
+
+        assertTrue(newSnapshot.version() > snapshot.version(), "Version was not changed!");
+        assertTrue(snapshot.tasks().contains(task1), "Old snapshot was changed!");
+        assertFalse(newSnapshot.tasks().contains(task1), "New snapshot contains removed Task!");
+    }
+
+    @Test
+    public void testSnapshotHoldsCopiesOfEpics() {
+        BoardSnapshot snapshot = taskManager.getSnapshot();
+        Epic snapshotEpic = snapshot.epics().getFirst();
+        assertNotSame(newEpic1, snapshotEpic, "Snapshot holds live Epic!");
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID), snapshotEpic.getAllSubtaskIDs(),
+                "Subtasks of Epic copy are incorrect!");
+
+        Subtask newSubtask3 = new Subtask("Subtask#3", "Test Subtask", startDateTime, duration);
+        newSubtask3.setEpicID(newEpic1ID);
+        Integer newSubtask3ID = taskManager.createSubtask(newSubtask3);
+
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID), snapshotEpic.getAllSubtaskIDs(),
+                "Epic of old snapshot was changed!");
+        assertTrue(taskManager.getSnapshot().epics().getFirst().getAllSubtaskIDs().contains(newSubtask3ID),
+                "Epic of new snapshot misses new Subtask!");
+    }
+
+    @Test
+    public void testSnapshotsAreConsistentDuringConcurrentChanges() throws Exception {
+        taskManager.removeAllEpic();
+        taskManager.removeAllTasks();
+        LocalDateTime baseDateTime = startDateTime.plusDays(1);
+        AtomicInteger slotCounter = new AtomicInteger();
+        AtomicInteger threadCounter = new AtomicInteger();
+
+        runConcurrently(() -> {
+            boolean isReader = threadCounter.getAndIncrement() % 2 == 0;
+            for (int i = 0; i < EPICS_PER_THREAD * SUBTASKS_PER_EPIC; ++i) {
+                if (isReader) {
+                    BoardSnapshot snapshot = taskManager.getSnapshot();
+                    assertEquals(snapshot.tasks().size(), snapshot.prioritizedTasks().size(),
+                            "Snapshot is torn!");
+                } else {
+                    LocalDateTime slot = baseDateTime.plus(duration.multipliedBy(slotCounter.getAndIncrement()));
+                    Integer taskID = taskManager.createTask(new Task("Task", "Snapshot test", slot, duration));
+                    if (i % 2 == 0) {
+                        taskManager.removeTaskByID(taskID);
+                    }
+                }
+            }
+            return null;
+        });
+
+        int writersCnt = THREADS_CNT / 2;
+        assertEquals(writersCnt * EPICS_PER_THREAD * SUBTASKS_PER_EPIC / 2, taskManager.getAllTasks().size(),
+                "Wrong number of Tasks!");
+    }
+}
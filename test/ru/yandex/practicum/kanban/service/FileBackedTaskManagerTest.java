@@ -8,15 +8,21 @@ import ru.yandex.practicum.kanban.model.Epic;
 import ru.yandex.practicum.kanban.model.Subtask;
 import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.model.TaskStatus;
+import ru.yandex.practicum.kanban.model.TaskTypes;
+import ru.yandex.practicum.kanban.service.impl.BinarySnapshot;
+import ru.yandex.practicum.kanban.service.impl.DateTimeOverlapException;
 import ru.yandex.practicum.kanban.service.impl.FileBackedTaskManager;
 import ru.yandex.practicum.kanban.service.impl.ManagerLoadException;
+import ru.yandex.practicum.kanban.service.impl.PersistenceMode;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskManager> {
 
@@ -59,6 +65,280 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         Assertions.assertEquals(taskManager, managerFormFile, "Manager instances are not equal!");
     }
 
+    @Test
+    public void testLoadFromFileRestoresEpicStatusTracking() {
+        newSubtask1.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask1);
+        newSubtask2.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask2);
+
+        String fileName = taskManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFormFile = FileBackedTaskManager.loadFromFile(fileName);
+        Assertions.assertEquals(TaskStatus.DONE, managerFormFile.getEpicByID(newEpic1ID).getStatus(),
+                "Loaded Epic status is wrong!");
+
+        Subtask subtaskFromFile = managerFormFile.getSubtaskByID(newSubtask1ID);
+        subtaskFromFile.setStatus(TaskStatus.IN_PROGRESS);
+        managerFormFile.updateSubtask(subtaskFromFile);
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, managerFormFile.getEpicByID(newEpic1ID).getStatus(),
+                "Loaded Epic status was not updated!");
+    }
+
+    @Test
+    public void testJournalModeAppendsChangesWithoutRewritingFile() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        Path filePath = journalManager.getFilePath();
+        Path journalPath = journalManager.getJournalPath();
+
+        Assertions.assertFalse(Files.exists(filePath), "File was written in journal mode!");
+        Assertions.assertEquals(6, Files.readAllLines(journalPath).size(), "Wrong number of journal records!");
+
+        Files.delete(journalPath);
+    }
+
+    @Test
+    public void testLoadFromFileReplaysJournal() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        String fileName = journalManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName, PersistenceMode.JOURNAL);
+
+        Assertions.assertEquals(journalManager, managerFromFile, "Manager instances are not equal!");
+        Assertions.assertEquals(TaskStatus.IN_PROGRESS, managerFromFile.getEpicByID(newEpic1ID).getStatus(),
+                "Epic status was not restored from journal!");
+
+        Files.delete(journalManager.getJournalPath());
+    }
+
+    @Test
+    public void testCreateTasksAppendsBatchToJournalAndReplaysIt() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        LocalDateTime batchStartDateTime = startDateTime.plusDays(1);
+        journalManager.createTasks(List.of(new Task("Batch#1", "Test Task", batchStartDateTime, duration),
+                new Task("Batch#2", "Test Task", batchStartDateTime.plus(duration), duration)));
+        String fileName = journalManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName, PersistenceMode.JOURNAL);
+
+        Assertions.assertEquals(8, Files.readAllLines(journalManager.getJournalPath()).size(),
+                "Wrong number of journal records!");
+        Assertions.assertEquals(journalManager.getAllTasks(), managerFromFile.getAllTasks(), "Tasks are not equal!");
+
+        Files.delete(journalManager.getJournalPath());
+    }
+
+    @Test
+    public void testTaskWithTypeOfSubtaskIsJournaledAsTask() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        Task task = new Task("Typed", "Test Task", startDateTime.plusDays(1), duration);
+        task.setType(TaskTypes.SUBTASK);
+        Integer taskID = journalManager.createTask(task);
+        String fileName = journalManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName, PersistenceMode.JOURNAL);
+
+        Assertions.assertEquals(TaskTypes.TASK, managerFromFile.getTaskByID(taskID).getType(),
+                "Task was not journaled as Task!");
+
+        Files.delete(journalManager.getJournalPath());
+    }
+
+    @Test
+    public void testRemoveByIDOfAnotherTypeIsNotJournaledAndRemovesNothingOnReplay() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        Integer taskID = journalManager.createTask(new Task("Task", "Test Task", startDateTime.minusHours(1), duration));
+        journalManager.removeSubtaskByID(taskID);
+        journalManager.removeTaskByID(newEpic1ID);
+        journalManager.removeEpicByID(newSubtask1ID);
+        String fileName = journalManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName, PersistenceMode.JOURNAL);
+
+        Assertions.assertEquals(7, Files.readAllLines(journalManager.getJournalPath()).size(),
+                "Wrong number of journal records!");
+        Assertions.assertEquals(journalManager, managerFromFile, "Manager instances are not equal!");
+        Assertions.assertEquals(1, managerFromFile.getAllTasks().size(), "Task was removed on replay!");
+        Assertions.assertEquals(2, managerFromFile.getAllSubtasks().size(), "Subtasks were removed on replay!");
+
+        Files.delete(journalManager.getJournalPath());
+    }
+
+    @Test
+    public void testLoadFromFileReplaysJournalTailAfterCompaction() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        journalManager.compact();
+        Assertions.assertFalse(Files.exists(journalManager.getJournalPath()), "Journal was not compacted!");
+
+        journalManager.removeSubtaskByID(newSubtask1ID);
+        journalManager.removeAllTasks();
+        String fileName = journalManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName, PersistenceMode.JOURNAL);
+
+        Assertions.assertEquals(journalManager.getAllTasks(), managerFromFile.getAllTasks(), "Tasks are not equal!");
+        Assertions.assertEquals(journalManager.getAllEpic(), managerFromFile.getAllEpic(), "Epics are not equal!");
+        Assertions.assertEquals(journalManager.getAllSubtasks(), managerFromFile.getAllSubtasks(),
+                "Subtasks are not equal!");
+        Assertions.assertEquals(List.of(newSubtask2ID), managerFromFile.getEpicByID(newEpic1ID).getAllSubtaskIDs(),
+                "Removed Subtask is still linked to Epic!");
+
+        Files.delete(journalManager.getJournalPath());
+        Files.delete(journalManager.getFilePath());
+    }
+
+    @Test
+    public void testWriteBehindModeWritesFileOnFlushOnly() throws IOException {
+        FileBackedTaskManager writeBehindManager = new FileBackedTaskManager("write-behind-data.csv",
+                PersistenceMode.WRITE_BEHIND, Duration.ofHours(1), FileBackedTaskManager.DEFAULT_FLUSH_BATCH_SIZE);
+        Path filePath = writeBehindManager.getFilePath();
+        Files.deleteIfExists(filePath);
+
+        writeBehindManager.createTask(new Task("Task", "Test Task", startDateTime, duration));
+        Assertions.assertFalse(Files.exists(filePath), "File was written before flush!");
+
+        writeBehindManager.flush();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile("write-behind-data.csv");
+        Assertions.assertEquals(writeBehindManager, managerFromFile, "Manager instances are not equal!");
+
+        writeBehindManager.close();
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void testWriteBehindModeFlushesFullBatchInBackground() throws IOException, InterruptedException {
+        FileBackedTaskManager writeBehindManager = new FileBackedTaskManager("write-behind-data.csv",
+                PersistenceMode.WRITE_BEHIND, Duration.ofHours(1), 2);
+        Path filePath = writeBehindManager.getFilePath();
+        Files.deleteIfExists(filePath);
+
+        writeBehindManager.createTask(new Task("Task", "Test Task", startDateTime, duration));
+        writeBehindManager.createEpic(new Epic("Epic", DEFAULT_EPIC_DESCRIPTION));
+
+        for (int attempt = 0; attempt < 50 && !Files.exists(filePath); ++attempt) {
+            Thread.sleep(100);
+        }
+        Assertions.assertTrue(Files.exists(filePath), "Full batch was not flushed!");
+
+        writeBehindManager.close();
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void testCloseFlushesUnsavedChanges() throws IOException {
+        FileBackedTaskManager writeBehindManager = new FileBackedTaskManager("write-behind-data.csv",
+                PersistenceMode.WRITE_BEHIND, Duration.ofHours(1), FileBackedTaskManager.DEFAULT_FLUSH_BATCH_SIZE);
+        Path filePath = writeBehindManager.getFilePath();
+        Files.deleteIfExists(filePath);
+
+        writeBehindManager.createEpic(new Epic("Epic", DEFAULT_EPIC_DESCRIPTION));
+        writeBehindManager.close();
+
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile("write-behind-data.csv");
+        Assertions.assertEquals(writeBehindManager, managerFromFile, "Manager instances are not equal!");
+
+        Files.delete(filePath);
+    }
+
+    @Test
+    public void testLoadFromBinarySnapshotProducesEqualManager() throws IOException {
+        taskManager.saveBinarySnapshot();
+        String fileName = taskManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromSnapshot = FileBackedTaskManager.loadFromBinarySnapshot(fileName);
+
+        Assertions.assertEquals(taskManager, managerFromSnapshot, "Manager instances are not equal!");
+
+        Files.delete(taskManager.getBinarySnapshotPath());
+    }
+
+    @Test
+    public void testLoadFromBinarySnapshotOfChangedFileThrowsManagerLoadException() throws IOException {
+        taskManager.saveBinarySnapshot();
+        Path binarySnapshotPath = taskManager.getBinarySnapshotPath();
+        Path filePath = taskManager.getFilePath();
+        Task task3 = new Task("Task3", "Test Task", startDateTime.plusDays(1), duration);
+        task3.setId(42);
+        Files.writeString(filePath, System.lineSeparator() + taskManager.toString(task3), StandardOpenOption.APPEND);
+        // Written in the same tick, the modification times do not tell the files apart
+        Files.setLastModifiedTime(filePath, Files.getLastModifiedTime(binarySnapshotPath));
+        String fileName = filePath.getFileName().toString();
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromBinarySnapshot(fileName));
+
+        Files.delete(binarySnapshotPath);
+    }
+
+    @Test
+    public void testLoadFromBinarySnapshotOfShorterJournalThrowsManagerLoadException() throws IOException {
+        FileBackedTaskManager journalManager = createJournalManager("journal-data.csv");
+        journalManager.saveBinarySnapshot();
+        journalManager.createTask(new Task("Task3", "Test Task", startDateTime.plusDays(1), duration));
+        String fileName = journalManager.getFilePath().getFileName().toString();
+
+        assertThrows(ManagerLoadException.class,
+                () -> FileBackedTaskManager.loadFromBinarySnapshot(fileName, PersistenceMode.JOURNAL));
+
+        Files.delete(journalManager.getBinarySnapshotPath());
+        Files.delete(journalManager.getJournalPath());
+    }
+
+    @Test
+    public void testSaveOfFileRemovesBinarySnapshot() {
+        taskManager.saveBinarySnapshot();
+        taskManager.removeTaskByID(task2.getId());
+
+        Assertions.assertFalse(Files.exists(taskManager.getBinarySnapshotPath()), "Stale binary snapshot was kept!");
+    }
+
+    @Test
+    public void testCompactRewritesExistingBinarySnapshot() throws IOException {
+        taskManager.saveBinarySnapshot();
+        taskManager.removeTaskByID(task2.getId());
+        taskManager.compact();
+        String fileName = taskManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromSnapshot = FileBackedTaskManager.loadFromBinarySnapshot(fileName);
+
+        Assertions.assertEquals(taskManager, managerFromSnapshot, "Manager instances are not equal!");
+
+        Files.delete(taskManager.getBinarySnapshotPath());
+    }
+
+    @Test
+    public void testConvertFromCsvProducesBinarySnapshotWithSameRecords() throws IOException {
+        Path binarySnapshotPath = taskManager.getBinarySnapshotPath();
+        BinarySnapshot.convertFromCsv(taskManager.getFilePath(), binarySnapshotPath);
+        BinarySnapshot snapshot = BinarySnapshot.open(binarySnapshotPath);
+
+        Assertions.assertEquals(Files.readAllLines(taskManager.getFilePath()).size() - 1, snapshot.size(),
+                "Wrong number of records!");
+        for (int index = 0; index < snapshot.size(); ++index) {
+            Task task = snapshot.getTask(index);
+            Task registeredTask = switch (snapshot.getType(index)) {
+                case TASK -> taskManager.getTaskByID(snapshot.getId(index));
+                case EPIC -> taskManager.getEpicByID(snapshot.getId(index));
+                case SUBTASK -> taskManager.getSubtaskByID(snapshot.getId(index));
+            };
+            Assertions.assertEquals(registeredTask, task, "Records are not equal!");
+            Assertions.assertEquals(registeredTask.getName(), snapshot.getName(index), "Names are not equal!");
+        }
+
+        Files.delete(binarySnapshotPath);
+    }
+
+    private FileBackedTaskManager createJournalManager(String fileName) throws IOException {
+        FileBackedTaskManager journalManager = new FileBackedTaskManager(fileName, PersistenceMode.JOURNAL);
+        Files.deleteIfExists(journalManager.getFilePath());
+        Files.deleteIfExists(journalManager.getJournalPath());
+
+        newEpic1ID = journalManager.createEpic(new Epic("Epic#1", DEFAULT_EPIC_DESCRIPTION));
+        Subtask subtask1 = new Subtask("Subtask#1", "Test Subtask", startDateTime, duration);
+        subtask1.setEpicID(newEpic1ID);
+        newSubtask1ID = journalManager.createSubtask(subtask1);
+        Subtask subtask2 = new Subtask("Subtask#2", "Test Subtask", startDateTime.plus(duration), duration);
+        subtask2.setEpicID(newEpic1ID);
+        newSubtask2ID = journalManager.createSubtask(subtask2);
+        subtask2.setStatus(TaskStatus.DONE);
+        journalManager.updateSubtask(subtask2);
+        journalManager.createTask(new Task("Task", "Test Task", startDateTime.minusHours(1), duration));
+        journalManager.removeAllTasks();
+
+        return journalManager;
+    }
+
     @Test
     public void testFromStringProducesEqualTaskFromToStringOutput() {
         Task task = new Task("Easy", "Say Hello World!",
@@ -119,4 +399,74 @@ public class FileBackedTaskManagerTest extends TaskManagerTest<FileBackedTaskMan
         Assertions.assertEquals(newSubtask1.getEpicID(), subtaskFromString.getEpicID(),
                 "Epic IDs are not equal!");
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFromStringKeepsStartDateTimePrecision() {
+        Task task = new Task("Precise", "Nanoseconds", LocalDateTime.of(2024, 7, 11, 19, 0, 5, 120_000), duration);
+        task.setId(7);
+        task.setStatus(TaskStatus.NEW);
+        Task taskFromString = FileBackedTaskManager.fromString(taskManager.toString(task));
+
+        Assertions.assertEquals(task.getStartDateTime(), taskFromString.getStartDateTime(),
+                "Start date&time are not equal!");
+        Assertions.assertEquals(task.getDuration(), taskFromString.getDuration(), "Durations are not equal!");
+    }
+
+    @Test
+    public void testFromStringThrowsManagerLoadExceptionForInvalidRecord() {
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.fromString("1,TASK,Name"));
+        assertThrows(ManagerLoadException.class,
+                () -> FileBackedTaskManager.fromString("x,TASK,Name,2024-07-11T19:00,2024-07-11T19:30,30,NEW,D"));
+    }
+
+    @Test
+    public void testLoadFromFileReadsWindowsLineSeparators() throws IOException {
+        Path filePath = taskManager.getFilePath();
+        String fileName = filePath.getFileName().toString();
+        String content = Files.readString(filePath).replace(System.lineSeparator(), "\r\n");
+        Files.writeString(filePath, content);
+
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName);
+        Assertions.assertEquals(taskManager.getAllSubtasks(), managerFromFile.getAllSubtasks(),
+                "Subtasks are not equal!");
+        Assertions.assertTrue(managerFromFile.getLoadThroughput() > 0, "Load throughput was not measured!");
+    }
+
+    @Test
+    public void testLoadFromFileRebuildsPrioritizedTasks() {
+        String fileName = taskManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName);
+
+        Assertions.assertEquals(taskManager.getPrioritizedTasks(), managerFromFile.getPrioritizedTasks(),
+                "Prioritized tasks are not equal!");
+        Task overlappingTask = new Task("Overlap", "Test Task", newSubtask1.getStartDateTime(), duration);
+        assertThrows(DateTimeOverlapException.class, () -> managerFromFile.createTask(overlappingTask));
+    }
+
+    @Test
+    public void testLoadFromFileRebuildsStatusIndex() {
+        newSubtask1.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask1);
+        String fileName = taskManager.getFilePath().getFileName().toString();
+        FileBackedTaskManager managerFromFile = FileBackedTaskManager.loadFromFile(fileName);
+
+        Assertions.assertEquals(taskManager.getSubtasksByStatus(TaskStatus.DONE),
+                managerFromFile.getSubtasksByStatus(TaskStatus.DONE), "Subtasks by status are not equal!");
+        Assertions.assertEquals(taskManager.getEpicsByStatus(TaskStatus.IN_PROGRESS),
+                managerFromFile.getEpicsByStatus(TaskStatus.IN_PROGRESS), "Epics by status are not equal!");
+        Assertions.assertEquals(taskManager.getTasksByStatus(TaskStatus.NEW),
+                managerFromFile.getTasksByStatus(TaskStatus.NEW), "Tasks by status are not equal!");
+    }
+
+    @Test
+    public void testLoadFromFileWithOverlappingTasksThrowsManagerLoadException() throws IOException {
+        Path filePath = taskManager.getFilePath();
+        String fileName = filePath.getFileName().toString();
+        Task overlappingTask = new Task("Overlap", "Test Task", newSubtask1.getStartDateTime(), duration);
+        overlappingTask.setId(100);
+        Files.writeString(filePath, System.lineSeparator() + taskManager.toString(overlappingTask),
+                StandardOpenOption.APPEND);
+
+        assertThrows(ManagerLoadException.class, () -> FileBackedTaskManager.loadFromFile(fileName));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.service.api.HistoryManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryHistoryManager;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
@@ -20,7 +21,7 @@ class InMemoryHistoryManagerTest {
 
     @BeforeEach
     public void testInit() {
-        historyManager = Managers.getDefaultHistory();
+        historyManager = new InMemoryHistoryManager();
         task1 = new Task("Task1", DEFAULT_TASK_DESCRIPTION, LocalDateTime.now(), defaultDuration);
         task1.setId(1);
         historyManager.add(task1);
@@ -81,4 +82,51 @@ class InMemoryHistoryManagerTest {
         historyManager.getHistory().forEach(task -> assertNotEquals(task.getId(), task1Id,
                 "Task id= " + task1Id +  " was not deleted from history"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetHistoryWithLimitReturnsMostRecentViews() {
+        List<Task> tasks = new ArrayList<>(List.of(task1));
+        for (int id = 2; id <= 5; ++id) {
+            Task task = new Task("Task" + id, DEFAULT_TASK_DESCRIPTION, LocalDateTime.now(), defaultDuration);
+            task.setId(id);
+            tasks.add(task);
+            historyManager.add(task);
+        }
+
+        assertEquals(tasks.subList(2, 5), historyManager.getHistory(3), "Wrong recent views!");
+        assertEquals(tasks, historyManager.getHistory(10), "Limit above history size is not ignored!");
+        assertEquals(List.of(), historyManager.getHistory(0), "Zero limit returned views!");
+        assertEquals(List.of(), historyManager.getHistory(-1), "Negative limit returned views!");
+    }
+
+    @Test
+    public void testRepeatedViewsKeepOrderAfterCompaction() {
+        Task task2 = new Task("Task2", DEFAULT_TASK_DESCRIPTION, LocalDateTime.now(), defaultDuration);
+        task2.setId(2);
+        for (int view = 0; view < 1000; ++view) {
+            historyManager.add(view % 2 == 0 ? task2 : task1);
+        }
+
+        assertEquals(List.of(task2, task1), historyManager.getHistory(), "Wrong history order!");
+        historyManager.remove(task2.getId());
+        assertEquals(List.of(task1), historyManager.getHistory(), "Task2 was not removed!");
+    }
+
+    @Test
+    public void testAddEvictsOldestViewWhenFull() {
+        HistoryManager boundedHistory = new InMemoryHistoryManager(3);
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 100; ++id) {
+            Task task = new Task("Task" + id, DEFAULT_TASK_DESCRIPTION, LocalDateTime.now(), defaultDuration);
+            task.setId(id);
+            tasks.add(task);
+            boundedHistory.add(task);
+            boundedHistory.add(tasks.get(id / 2));
+        }
+
+        assertEquals(List.of(tasks.get(49), tasks.get(99), tasks.get(50)), boundedHistory.getHistory(),
+                "Wrong views were evicted!");
+        assertThrows(IllegalArgumentException.class, () -> new InMemoryHistoryManager(0),
+                "Zero history size was accepted!");
+    }
+}
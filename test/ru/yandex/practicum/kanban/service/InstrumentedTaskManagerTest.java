@@ -0,0 +1,81 @@
+package ru.yandex.practicum.kanban.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.model.Epic;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.InstrumentedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.NotFoundException;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedTaskManagerTest {
+    private MetricsRegistry metricsRegistry;
+    private TaskManager taskManager;
+
+    @BeforeEach
+    public void testInit() {
+        metricsRegistry = new MetricsRegistry();
+        InMemoryTaskManager inMemoryTaskManager = new InMemoryTaskManager();
+        inMemoryTaskManager.registerMetrics(metricsRegistry);
+        taskManager = new InstrumentedTaskManager(inMemoryTaskManager, metricsRegistry);
+    }
+
+    @Test
+    public void testOperationDurationIsRecordedForEveryCall() {
+        Task task = new Task("Task", "Metrics test", LocalDateTime.now(), Duration.ofMinutes(30));
+        Integer taskID = taskManager.createTask(task);
+        taskManager.getTaskByID(taskID);
+        taskManager.getTaskByID(taskID);
+
+        String metrics = metricsRegistry.writePrometheus();
+
+        assertTrue(metrics.contains("taskmanager_operation_duration_seconds_count{operation=\"createTask\"} 1\n"),
+                "createTask is not counted!");
+        assertTrue(metrics.contains("taskmanager_operation_duration_seconds_count{operation=\"getTaskByID\"} 2\n"),
+                "getTaskByID is not counted!");
+        assertTrue(metrics.contains("taskmanager_schedule_validation_duration_seconds_count 1\n"),
+                "Schedule validation is not counted!");
+    }
+
+    @Test
+    public void testFailedOperationIsCountedAndRethrown() {
+        assertThrows(NotFoundException.class, () -> taskManager.getTaskByID(42),
+                "Exception of a failed operation is not rethrown!");
+
+        String metrics = metricsRegistry.writePrometheus();
+
+        assertTrue(metrics.contains(
+                "taskmanager_errors_total{operation=\"getTaskByID\",exception=\"NotFoundException\"} 1\n"),
+                "Failed operation is not counted!");
+    }
+
+    @Test
+    public void testBoardItemsGaugesFollowBoardSize() {
+        taskManager.createTask(new Task("Task", "Metrics test", LocalDateTime.now(), Duration.ofMinutes(30)));
+        taskManager.createEpic(new Epic("Epic", "Metrics test"));
+
+        String metrics = metricsRegistry.writePrometheus();
+
+        assertTrue(metrics.contains("# TYPE taskmanager_board_items gauge\n"), "Gauge type is not written!");
+        assertTrue(metrics.contains("taskmanager_board_items{type=\"task\"} 1\n"), "Wrong number of tasks!");
+        assertTrue(metrics.contains("taskmanager_board_items{type=\"epic\"} 1\n"), "Wrong number of epics!");
+        assertTrue(metrics.contains("taskmanager_board_items{type=\"subtask\"} 0\n"), "Wrong number of subtasks!");
+    }
+
+    @Test
+    public void testBoardItemsGaugesReadCountsAndAreRecorded() {
+        metricsRegistry.writePrometheus();
+        String metrics = metricsRegistry.writePrometheus();
+
+        assertTrue(metrics.contains("taskmanager_operation_duration_seconds_count{operation=\"getTasksCnt\"} 2\n"),
+                "Gauge read is not counted!");
+        assertFalse(metrics.contains("operation=\"getAllTasks\""), "Gauge read copies all Tasks!");
+    }
+}
@@ -0,0 +1,86 @@
+package ru.yandex.practicum.kanban.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentHistoryManager;
+import ru.yandex.practicum.kanban.service.impl.PartitionedHistoryManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedHistoryManagerTest {
+    private final PartitionedHistoryManager historyManager =
+            new PartitionedHistoryManager(ConcurrentHistoryManager::new, 2, Duration.ofMinutes(30));
+    private final Task task1 = createTask(1);
+    private final Task task2 = createTask(2);
+
+    private Task createTask(int id) {
+        Task task = new Task("Task" + id, "History test", LocalDateTime.now(), Duration.ofMinutes(30));
+        task.setId(id);
+        return task;
+    }
+
+    private void addAs(String client, Task task) {
+        PartitionedHistoryManager.setCurrentClient(client);
+        historyManager.add(task);
+    }
+
+    private List<Task> getHistoryOf(String client) {
+        PartitionedHistoryManager.setCurrentClient(client);
+        return historyManager.getHistory();
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        PartitionedHistoryManager.clearCurrentClient();
+    }
+
+    @Test
+    public void testClientsHaveSeparateHistory() {
+        addAs("alice", task1);
+        addAs("bob", task2);
+
+        assertEquals(List.of(task1), getHistoryOf("alice"), "Wrong history of alice!");
+        assertEquals(List.of(task2), getHistoryOf("bob"), "Wrong history of bob!");
+        assertNull(getHistoryOf(null), "Default history is not empty!");
+    }
+
+    @Test
+    public void testRemoveDeletesTaskFromAllPartitions() {
+        addAs("alice", task1);
+        addAs("bob", task1);
+        historyManager.remove(task1.getId());
+
+        assertNull(getHistoryOf("alice"), "Task was not removed from history of alice!");
+        assertNull(getHistoryOf("bob"), "Task was not removed from history of bob!");
+    }
+
+    @Test
+    public void testLeastRecentlyUsedPartitionIsEvicted() {
+        addAs("alice", task1);
+        addAs("bob", task1);
+        getHistoryOf("alice");
+        addAs("carol", task1);
+
+        assertEquals(2, historyManager.getPartitionsCnt(), "Partitions are not bounded!");
+        assertNotNull(getHistoryOf("alice"), "Recently used partition was evicted!");
+        assertNull(getHistoryOf("bob"), "Least recently used partition was not evicted!");
+    }
+
+    @Test
+    public void testIdlePartitionIsEvicted() throws InterruptedException {
+        PartitionedHistoryManager shortLivedHistory =
+                new PartitionedHistoryManager(ConcurrentHistoryManager::new, 10, Duration.ofMillis(10));
+        PartitionedHistoryManager.setCurrentClient("alice");
+        shortLivedHistory.add(task1);
+        Thread.sleep(50);
+        PartitionedHistoryManager.setCurrentClient("bob");
+        shortLivedHistory.add(task2);
+
+        assertEquals(1, shortLivedHistory.getPartitionsCnt(), "Idle partition was not evicted!");
+    }
+}
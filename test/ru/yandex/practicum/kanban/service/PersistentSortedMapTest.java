@@ -0,0 +1,51 @@
+package ru.yandex.practicum.kanban.service;
+
+import org.junit.jupiter.api.Test;
+
+import ru.yandex.practicum.kanban.service.impl.PersistentSortedMap;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentSortedMapTest {
+    @Test
+    public void testPutAndRemoveKeepPreviousMapUnchanged() {
+        PersistentSortedMap<Integer, String> map = PersistentSortedMap.empty(Comparator.naturalOrder());
+        map = map.put(2, "Two").put(1, "One").put(3, "Three");
+
+        PersistentSortedMap<Integer, String> changedMap = map.put(2, "Second").remove(1);
+
+        assertEquals(List.of("One", "Two", "Three"), map.values(), "Previous map was changed!");
+        assertEquals(List.of(2, 3), changedMap.keys(), "Keys of changed map are incorrect!");
+        assertEquals("Second", changedMap.get(2), "Value was not replaced!");
+        assertNull(changedMap.get(1), "Removed key was found!");
+        assertSame(changedMap, changedMap.remove(4), "Map was copied on remove of absent key!");
+    }
+
+    @Test
+    public void testViewsAreSortedAndIndexed() {
+        PersistentSortedMap<Integer, Integer> map = PersistentSortedMap.empty(Comparator.naturalOrder());
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            int key = (i * 7919) % 1000;
+            map = map.put(key, i);
+            expected.put(key, i);
+            if (i % 3 == 0) {
+                map = map.remove(i / 2);
+                expected.remove(i / 2);
+            }
+        }
+
+        assertEquals(expected.size(), map.size(), "Wrong size!");
+        assertEquals(new ArrayList<>(expected.keySet()), map.keys(), "Keys are not sorted!");
+        assertEquals(new ArrayList<>(expected.values()), map.values(), "Values are not in key order!");
+        assertEquals(expected.lastKey(), map.keys().get(map.size() - 1), "Wrong key by index!");
+        List<Integer> keys = map.keys();
+        assertThrows(IndexOutOfBoundsException.class, () -> keys.get(keys.size()),
+                "Index out of bounds was accepted!");
+    }
+}
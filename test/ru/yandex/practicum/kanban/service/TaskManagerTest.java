@@ -138,6 +138,45 @@ public abstract class TaskManagerTest<T extends TaskManager> {
         assertThrows(DateTimeOverlapException.class, () -> taskManager.createTask(task3));
     }
 
+    @Test
+    public void testUpdateTaskWithDateTimeOverlapThrowsDateTimeOverlapException() {
+        task1.setStartDateTime(task2.getStartDateTime().plusMinutes(10));
+        assertThrows(DateTimeOverlapException.class, () -> taskManager.updateTask(task1));
+    }
+
+    @Test
+    public void testUpdateTaskWithinItsOwnDateTimeSlotDoesNotThrow() {
+        task1.setStartDateTime(task1.getStartDateTime().plusMinutes(10));
+        taskManager.updateTask(task1);
+
+        assertEquals(task1, taskManager.getPrioritizedTasks().getFirst(), "Task1 was not rescheduled!");
+    }
+
+    @Test
+    public void testRemoveTaskByIdReleasesItsDateTimeSlot() {
+        taskManager.removeTaskByID(task1ID);
+        Task task3 = new Task("Task3", "Overlap test", task1.getStartDateTime(), task1.getDuration());
+
+        assertDoesNotThrow(() -> taskManager.createTask(task3), "Task1 date&time slot was not released!");
+    }
+
+    @Test
+    public void testRemoveTaskByIdOfSubtaskKeepsSubtaskDateTimeSlot() {
+        taskManager.removeTaskByID(newSubtask1ID);
+        Task task3 = new Task("Task3", "Overlap test", newSubtask1.getStartDateTime(), newSubtask1.getDuration());
+
+        assertTrue(taskManager.getPrioritizedTasks().contains(newSubtask1), "Subtask was removed from schedule!");
+        assertThrows(DateTimeOverlapException.class, () -> taskManager.createTask(task3));
+    }
+
+    @Test
+    public void testCreateTaskWithDateTimeOverlapDoesNotRegisterTask() {
+        Task task3 = new Task("Task3", "Overlap test", task1.getStartDateTime(), task1.getDuration());
+        assertThrows(DateTimeOverlapException.class, () -> taskManager.createTask(task3));
+
+        assertFalse(taskManager.getAllTasks().contains(task3), "Overlapped Task3 was registered!");
+    }
+
     @Test
     public void testCheckDateTimeOverlapReturnsTrueInCaseOfOverlap() {
         LocalDateTime task1DateTime = LocalDateTime.of(2024,Month.JULY,11,19,0);
@@ -378,6 +417,48 @@ public abstract class TaskManagerTest<T extends TaskManager> {
                 "Epic1 status=" + newEpic1.getStatus() + "(NEW expected)");
     }
 
+    @Test
+    public void testRepeatedSubtaskUpdatesDoNotCountSubtaskStatusTwice() {
+        newSubtask1.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask1);
+        taskManager.updateSubtask(newSubtask1);
+        newSubtask2.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask2);
+
+        assertEquals(TaskStatus.DONE, newEpic1.getStatus(),
+                "Epic1 status=" + newEpic1.getStatus() + "(DONE expected)");
+    }
+
+    @Test
+    public void testRemoveAllSubtasksChangesEpicStatusToNew() {
+        newSubtask1.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateSubtask(newSubtask1);
+        taskManager.removeAllSubtasks();
+
+        assertEquals(TaskStatus.NEW, newEpic1.getStatus(),
+                "Epic1 status=" + newEpic1.getStatus() + "(NEW expected)");
+    }
+
+    @Test
+    public void testUpdateEpicWithNewInstanceKeepsStatusComputedFromSubtasks() {
+        newSubtask1.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask1);
+
+        Epic updatedEpic1 = new Epic("Epic#1", "Updated Test Epic");
+        updatedEpic1.setId(newEpic1ID);
+        newEpic1.getAllSubtaskIDs().forEach(updatedEpic1::addSubtaskID);
+        taskManager.updateEpic(updatedEpic1);
+
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicByID(newEpic1ID).getStatus(),
+                "Epic1 status was not computed from Subtasks!");
+
+        newSubtask2.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask2);
+
+        assertEquals(TaskStatus.DONE, taskManager.getEpicByID(newEpic1ID).getStatus(),
+                "Epic1 status was not computed from Subtasks!");
+    }
+
     @Test
     public void testEpicEndTimeEqualsLastSubtaskEndTime() {
         Subtask lastSubtaskInEpic1 = newEpic1.getAllSubtaskIDs().stream()
@@ -387,4 +468,289 @@ public abstract class TaskManagerTest<T extends TaskManager> {
 
         assertEquals(newEpic1.getEndDateTime(), lastSubtaskInEpic1.getEndDateTime(), "Epic end time is wrong!");
     }
+
+    @Test
+    public void testEpicDateTimeIsComputedFromItsOwnSubtasksOnly() {
+        Epic newEpic2 = new Epic("Epic#2", DEFAULT_EPIC_DESCRIPTION);
+        Integer newEpic2ID = taskManager.createEpic(newEpic2);
+        Subtask newSubtask3 = new Subtask("Subtask#3", "Test Subtask", startDateTime, duration);
+        newSubtask3.setEpicID(newEpic2ID);
+        taskManager.createSubtask(newSubtask3);
+
+        assertEquals(newSubtask1.getStartDateTime(), newEpic1.getStartDateTime(), "Epic1 start time is wrong!");
+        assertEquals(newSubtask2.getEndDateTime(), newEpic1.getEndDateTime(), "Epic1 end time is wrong!");
+        assertEquals(duration.multipliedBy(2), newEpic1.getDuration(), "Epic1 duration is wrong!");
+        assertEquals(newSubtask3.getStartDateTime(), newEpic2.getStartDateTime(), "Epic2 start time is wrong!");
+        assertEquals(duration, newEpic2.getDuration(), "Epic2 duration is wrong!");
+    }
+
+    @Test
+    public void testUpdateSubtaskWithAnotherEpicThrowsAndKeepsBothEpics() {
+        Epic newEpic2 = new Epic("Epic#2", DEFAULT_EPIC_DESCRIPTION);
+        Integer newEpic2ID = taskManager.createEpic(newEpic2);
+        Subtask movedSubtask1 = new Subtask("Subtask#1", "Test Subtask", newSubtask1.getStartDateTime(), duration);
+        movedSubtask1.setId(newSubtask1ID);
+        movedSubtask1.setEpicID(newEpic2ID);
+        movedSubtask1.setStatus(TaskStatus.DONE);
+
+        assertThrows(IllegalArgumentException.class, () -> taskManager.updateSubtask(movedSubtask1));
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID), newEpic1.getAllSubtaskIDs(), "Epic1 Subtasks changed!");
+        assertTrue(newEpic2.getAllSubtaskIDs().isEmpty(), "Subtask was added to Epic2!");
+        assertEquals(TaskStatus.NEW, newEpic2.getStatus(), "Epic2 status was changed!");
+        assertEquals(newEpic1ID, taskManager.getSubtaskByID(newSubtask1ID).getEpicID(), "Subtask was moved!");
+    }
+
+    @Test
+    public void testRemoveFirstSubtaskMovesEpicStartTimeToNextSubtask() {
+        taskManager.removeSubtaskByID(newSubtask1ID);
+
+        assertEquals(newSubtask2.getStartDateTime(), newEpic1.getStartDateTime(), "Epic start time is wrong!");
+        assertEquals(duration, newEpic1.getDuration(), "Epic duration is wrong!");
+    }
+
+    @Test
+    public void testUpdateSubtaskDateTimeRecomputesEpicDateTime() {
+        newSubtask1.setStartDateTime(newSubtask2.getEndDateTime());
+        newSubtask1.setDuration(Duration.ofMinutes(45));
+        taskManager.updateSubtask(newSubtask1);
+
+        assertEquals(newSubtask2.getStartDateTime(), newEpic1.getStartDateTime(), "Epic start time is wrong!");
+        assertEquals(newSubtask1.getEndDateTime(), newEpic1.getEndDateTime(), "Epic end time is wrong!");
+        assertEquals(Duration.ofMinutes(75), newEpic1.getDuration(), "Epic duration is wrong!");
+    }
+
+    // Pages
+    @Test
+    public void testGetTasksPageReturnsTasksAfterGivenIDInIDOrder() {
+        Integer task2ID = task2.getId();
+
+        assertEquals(List.of(task2), taskManager.getTasksPage(null, 1), "Wrong first page!");
+        assertEquals(List.of(task1), taskManager.getTasksPage(task2ID, 1), "Wrong second page!");
+        assertTrue(taskManager.getTasksPage(task1ID, 1).isEmpty(), "Page after the last Task is not empty!");
+    }
+
+    @Test
+    public void testGetSubtasksAndEpicsPagesReturnItemsAfterGivenID() {
+        assertEquals(List.of(newSubtask2), taskManager.getSubtasksPage(newSubtask1ID, 10), "Wrong Subtasks page!");
+        assertEquals(List.of(newEpic1), taskManager.getEpicsPage(null, 10), "Wrong Epics page!");
+        assertTrue(taskManager.getEpicsPage(newEpic1ID, 10).isEmpty(), "Page after the last Epic is not empty!");
+    }
+
+    @Test
+    public void testGetPrioritizedTasksPagesFollowPrioritizedOrder() {
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+
+        List<Task> firstPage = taskManager.getPrioritizedTasksPage(null, null, 2);
+        Task lastTask = firstPage.getLast();
+        List<Task> nextPage = taskManager.getPrioritizedTasksPage(lastTask.getStartDateTime(), lastTask.getId(), 10);
+
+        assertEquals(prioritizedTasks.subList(0, 2), firstPage, "Wrong first page!");
+        assertEquals(prioritizedTasks.subList(2, prioritizedTasks.size()), nextPage, "Wrong next page!");
+    }
+
+    @Test
+    public void testGetPrioritizedTasksInRangeIncludesTaskRunningAtRangeStart() {
+        LocalDateTime from = task1.getStartDateTime().plusMinutes(10);
+        LocalDateTime to = task2.getEndDateTime();
+
+        assertEquals(List.of(task1, task2), taskManager.getPrioritizedTasks(from, to, 10), "Wrong Tasks in range!");
+        assertEquals(List.of(task1), taskManager.getPrioritizedTasks(from, to, 1), "Range limit is ignored!");
+        assertEquals(List.of(task1), taskManager.getPrioritizedTasks(null, task2.getStartDateTime(), 10),
+                "Range end is not exclusive!");
+        assertEquals(List.of(newSubtask1, newSubtask2),
+                taskManager.getPrioritizedTasks(task1.getEndDateTime().plusYears(1), null, 10),
+                "Wrong Tasks after the range start!");
+    }
+
+    @Test
+    public void testGetPrioritizedTasksInRangeThrowsIfRangeEndIsBeforeStart() {
+        LocalDateTime from = task2.getStartDateTime();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.getPrioritizedTasks(from, from.minusMinutes(1), 10), "Inverted range is accepted!");
+    }
+
+    // Free slots
+    @Test
+    public void testFindFreeSlotSkipsTasksThatRunInTheSlot() {
+        LocalDateTime task1Start = task1.getStartDateTime();
+        LocalDateTime subtasksStart = newSubtask1.getStartDateTime();
+        Duration gapToTask2 = Duration.between(task1.getEndDateTime(), task2.getStartDateTime());
+
+        assertEquals(task1.getEndDateTime(), taskManager.findFreeSlot(duration, task1Start.plusMinutes(5)),
+                "Running Task is not skipped!");
+        assertEquals(newSubtask2.getEndDateTime(), taskManager.findFreeSlot(duration, subtasksStart.minusMinutes(10)),
+                "Adjacent Subtasks are not skipped!");
+        assertEquals(task1.getEndDateTime(), taskManager.findFreeSlot(gapToTask2, task1Start),
+                "Free gap is not found!");
+        assertEquals(task2.getEndDateTime(), taskManager.findFreeSlot(gapToTask2.plusMinutes(1), task1Start),
+                "Too short gap is used!");
+    }
+
+    @Test
+    public void testCreateTaskInFreeSlotMovesTaskToTheEndOfOverlappingTask() {
+        Task overlappingTask = new Task("Task#3", "Test Task", task2.getStartDateTime().plusMinutes(10), duration);
+
+        Integer id = taskManager.createTaskInFreeSlot(overlappingTask);
+
+        assertEquals(task2.getEndDateTime(), taskManager.getTaskByID(id).getStartDateTime(), "Task is not moved!");
+    }
+
+    @Test
+    public void testCreateSubtaskInFreeSlotKeepsFreeStart() {
+        LocalDateTime freeStart = task1.getEndDateTime();
+        Subtask subtask = new Subtask("Subtask#3", "Test Subtask", freeStart, duration);
+        subtask.setEpicID(newEpic1ID);
+
+        Integer id = taskManager.createSubtaskInFreeSlot(subtask);
+
+        assertEquals(freeStart, taskManager.getSubtaskByID(id).getStartDateTime(), "Subtask in a free slot is moved!");
+        assertEquals(freeStart, taskManager.getEpicByID(newEpic1ID).getStartDateTime(), "Epic is not updated!");
+    }
+
+    // Status filters
+    @Test
+    public void testGetTasksByStatusFollowsUpdatesAndRemoves() {
+        task1.setStatus(TaskStatus.IN_PROGRESS);
+        taskManager.updateTask(task1);
+
+        assertEquals(List.of(task1), taskManager.getTasksByStatus(TaskStatus.IN_PROGRESS),
+                "Updated Task is not found by status!");
+        assertEquals(List.of(task2), taskManager.getTasksByStatus(TaskStatus.NEW), "Task keeps its previous status!");
+
+        taskManager.removeTaskByID(task1ID);
+
+        assertTrue(taskManager.getTasksByStatus(TaskStatus.IN_PROGRESS).isEmpty(), "Removed Task is found!");
+    }
+
+    @Test
+    public void testGetEpicsByStatusFollowsStatusOfSubtasks() {
+        newSubtask1.setStatus(TaskStatus.DONE);
+        taskManager.updateSubtask(newSubtask1);
+
+        assertEquals(List.of(newSubtask1), taskManager.getSubtasksByStatus(TaskStatus.DONE),
+                "Updated Subtask is not found by status!");
+        assertEquals(List.of(newEpic1), taskManager.getEpicsByStatus(TaskStatus.IN_PROGRESS),
+                "Epic is not found by its new status!");
+
+        taskManager.removeSubtaskByID(newSubtask2ID);
+
+        assertEquals(List.of(newEpic1), taskManager.getEpicsByStatus(TaskStatus.DONE),
+                "Epic status is not updated after Subtask removal!");
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.IN_PROGRESS).isEmpty(), "Epic keeps its previous status!");
+
+        taskManager.removeAllEpic();
+
+        assertTrue(taskManager.getEpicsByStatus(TaskStatus.DONE).isEmpty(), "Removed Epic is found!");
+        assertTrue(taskManager.getSubtasksByStatus(TaskStatus.DONE).isEmpty(), "Removed Subtask is found!");
+    }
+
+    // Search
+    @Test
+    public void testSearchFindsTasksSubtasksAndEpicsByWordPrefixes() {
+        assertEquals(List.of(task2.getId()), taskManager.search("vivaldi seas", 10), "Task is not found!");
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID), taskManager.search("subtask", 10),
+                "Subtasks are not found!");
+        assertEquals(List.of(newEpic1ID), taskManager.search("epic#1", 10), "Epic is not found!");
+    }
+
+    @Test
+    public void testSearchFollowsUpdatesAndRemoves() {
+        task1.setName("Dusting");
+        taskManager.updateTask(task1);
+        taskManager.removeEpicByID(newEpic1ID);
+
+        assertEquals(List.of(task1ID), taskManager.search("dust", 10), "Updated Task is not found!");
+        assertTrue(taskManager.search("cleaning", 10).isEmpty(), "Task is found by its previous name!");
+        assertTrue(taskManager.search("test", 10).isEmpty(), "Removed Epic or Subtasks are found!");
+    }
+
+    @Test
+    public void testRemoveTaskByIdOfSubtaskKeepsSubtaskSearchable() {
+        taskManager.removeTaskByID(newSubtask1ID);
+
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID), taskManager.search("subtask", 10),
+                "Subtask was removed from search index!");
+    }
+
+    // Version
+    @Test
+    public void testGetVersionChangesWithBoardButNotWithHistory() {
+        long initialVersion = taskManager.getVersion();
+        taskManager.getTaskByID(task1ID);
+        taskManager.getAllTasks();
+
+        assertEquals(initialVersion, taskManager.getVersion(), "Version changed without board changes!");
+
+        task1.setStatus(TaskStatus.DONE);
+        taskManager.updateTask(task1);
+
+        assertNotEquals(initialVersion, taskManager.getVersion(), "Version not changed by Task update!");
+    }
+
+    // Batches
+    @Test
+    public void testCreateTasksCreatesAllTasksInGivenOrder() {
+        Task batchTask1 = new Task("Batch#1", "Test Task", startDateTime.plus(duration), duration);
+        Task batchTask2 = new Task("Batch#2", "Test Task", startDateTime, duration);
+
+        List<Integer> ids = taskManager.createTasks(List.of(batchTask1, batchTask2));
+
+        assertEquals(List.of(batchTask1.getId(), batchTask2.getId()), ids, "Wrong IDs of created Tasks!");
+        assertEquals(batchTask1, taskManager.getTaskByID(ids.getFirst()), "First Task was not created!");
+        assertEquals(batchTask2, taskManager.getTaskByID(ids.getLast()), "Second Task was not created!");
+        assertTrue(taskManager.getPrioritizedTasks().containsAll(List.of(batchTask1, batchTask2)),
+                "Created Tasks are not prioritized!");
+    }
+
+    @Test
+    public void testCreateTasksCreatesNoneIfAnyOverlaps() {
+        Task batchTask = new Task("Batch#1", "Test Task", startDateTime, duration);
+        Task overlappingInBatch = new Task("Batch#2", "Test Task", startDateTime.plusMinutes(10), duration);
+        Task overlappingExisting = new Task("Batch#3", "Test Task", task1.getStartDateTime(), duration);
+        List<Task> tasksBefore = taskManager.getAllTasks();
+
+        assertThrows(DateTimeOverlapException.class,
+                () -> taskManager.createTasks(List.of(batchTask, overlappingInBatch)),
+                "Overlap inside the batch is not found!");
+        assertThrows(DateTimeOverlapException.class,
+                () -> taskManager.createTasks(List.of(batchTask, overlappingExisting)),
+                "Overlap with an existing Task is not found!");
+        assertEquals(tasksBefore, taskManager.getAllTasks(), "Tasks were created from a failed batch!");
+        assertEquals(Task.INVALID_ID, batchTask.getId(), "Task of a failed batch got an ID!");
+    }
+
+    @Test
+    public void testCreateSubtasksLinksAllSubtasksToTheirEpics() {
+        Epic newEpic2 = new Epic("Epic#2", DEFAULT_EPIC_DESCRIPTION);
+        Integer newEpic2ID = taskManager.createEpic(newEpic2);
+        Subtask batchSubtask1 = new Subtask("Batch#1", "Test Subtask", startDateTime, duration);
+        batchSubtask1.setEpicID(newEpic1ID);
+        batchSubtask1.setStatus(TaskStatus.DONE);
+        Subtask batchSubtask2 = new Subtask("Batch#2", "Test Subtask", startDateTime.plus(duration), duration);
+        batchSubtask2.setEpicID(newEpic2ID);
+
+        List<Integer> ids = taskManager.createSubtasks(List.of(batchSubtask1, batchSubtask2));
+
+        assertEquals(List.of(newSubtask1ID, newSubtask2ID, ids.getFirst()),
+                taskManager.getEpicByID(newEpic1ID).getAllSubtaskIDs(), "Subtask is not linked to Epic#1!");
+        assertEquals(List.of(ids.getLast()), taskManager.getEpicByID(newEpic2ID).getAllSubtaskIDs(),
+                "Subtask is not linked to Epic#2!");
+        assertEquals(TaskStatus.IN_PROGRESS, taskManager.getEpicByID(newEpic1ID).getStatus(),
+                "Epic#1 status is not recomputed!");
+        assertEquals(batchSubtask2.getStartDateTime(), taskManager.getEpicByID(newEpic2ID).getStartDateTime(),
+                "Epic#2 start is not recomputed!");
+    }
+
+    @Test
+    public void testCreateSubtasksWithUnknownEpicCreatesNone() {
+        Subtask batchSubtask = new Subtask("Batch#1", "Test Subtask", startDateTime, duration);
+        batchSubtask.setEpicID(newEpic1ID);
+        Subtask orphanSubtask = new Subtask("Batch#2", "Test Subtask", startDateTime.plus(duration), duration);
+        orphanSubtask.setEpicID(Integer.MAX_VALUE);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> taskManager.createSubtasks(List.of(batchSubtask, orphanSubtask)), "Unknown Epic is accepted!");
+        assertEquals(2, taskManager.getAllSubtasks().size(), "Subtasks were created from a failed batch!");
+    }
 }
@@ -0,0 +1,101 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import com.google.gson.Gson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.ConcurrentTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.BaseHttpHandler;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The "--in-memory" server: sessions viewing tasks at the same time keep their own histories
+public class HttpTaskServerConcurrentSessionsTest {
+    private static final int TASKS_PER_SESSION = 20;
+    private static final List<String> SESSIONS = List.of("alice", "bob");
+    private final TaskManager taskManager;
+    private final HttpTaskServer taskServer;
+    private final Gson gson;
+    private final List<List<Task>> sessionTasks = new ArrayList<>();
+
+    public HttpTaskServerConcurrentSessionsTest() throws IOException {
+        taskManager = new ConcurrentTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        gson = HttpTaskServer.getGson();
+    }
+
+    @BeforeEach
+    public void testInit() {
+        LocalDateTime startDateTime = LocalDateTime.now();
+        Duration duration = Duration.ofMinutes(30);
+        for (String session : SESSIONS) {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < TASKS_PER_SESSION; ++i) {
+                Task task = new Task(session + i, "Session test", startDateTime, duration);
+                taskManager.createTask(task);
+                tasks.add(task);
+                startDateTime = startDateTime.plus(duration);
+            }
+            sessionTasks.add(tasks);
+        }
+
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        taskServer.stop();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path, String session)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .headers("Accept", "application/json", BaseHttpHandler.SESSION_HEADER, session)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetReturnsSeparateHistoryForEverySession() throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(SESSIONS.size());
+        List<Future<List<Task>>> histories = new ArrayList<>();
+
+        for (int sessionIndex = 0; sessionIndex < SESSIONS.size(); ++sessionIndex) {
+            String session = SESSIONS.get(sessionIndex);
+            List<Task> tasks = sessionTasks.get(sessionIndex);
+            histories.add(clients.submit(() -> {
+                try (HttpClient client = HttpClient.newHttpClient()) {
+                    for (Task task : tasks) {
+                        get(client, "tasks/" + task.getId(), session);
+                    }
+                    return gson.fromJson(get(client, "history", session).body(), new TaskListTypeToken().getType());
+                }
+            }));
+        }
+
+        try {
+            for (int sessionIndex = 0; sessionIndex < SESSIONS.size(); ++sessionIndex) {
+                assertEquals(sessionTasks.get(sessionIndex), histories.get(sessionIndex).get(30, TimeUnit.SECONDS),
+                        "Wrong history of session " + SESSIONS.get(sessionIndex) + "!");
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+}
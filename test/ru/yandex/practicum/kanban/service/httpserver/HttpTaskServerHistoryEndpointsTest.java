@@ -9,6 +9,7 @@ import ru.yandex.practicum.kanban.model.Subtask;
 import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
 import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.BaseHttpHandler;
 import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
 
 import java.io.IOException;
@@ -21,6 +22,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 public class HttpTaskServerHistoryEndpointsTest {
     private final TaskManager taskManager;
@@ -100,4 +102,56 @@ public class HttpTaskServerHistoryEndpointsTest {
             assertEquals(HttpTaskServer.METHOD_NOT_ALLOWED_405, response.statusCode(), "Wrong response code!");
         }
     }
+
+    private HttpResponse<String> get(HttpClient client, String path, String session)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .headers("Accept", "application/json", BaseHttpHandler.SESSION_HEADER, session)
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetReturnsSeparateHistoryForEverySession() throws IOException, InterruptedException {
+        LocalDateTime startTime = LocalDateTime.now();
+        Task hobbyTask = new Task("Violin", "Try to play Vivaldi", startTime, duration);
+        Integer hobbyTaskID = taskManager.createTask(hobbyTask);
+        Task houseTask = new Task("Cleaning", "Wash the floors at home", startTime.plus(duration), duration);
+        Integer houseTaskID = taskManager.createTask(houseTask);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            get(client, "tasks/" + hobbyTaskID, "alice");
+            get(client, "tasks/" + houseTaskID, "bob");
+
+            List<Task> aliceHistory = gson.fromJson(get(client, "history", "alice").body(),
+                    new TaskListTypeToken().getType());
+            List<Task> bobHistory = gson.fromJson(get(client, "history", "bob").body(),
+                    new TaskListTypeToken().getType());
+            List<Task> carolHistory = gson.fromJson(get(client, "history", "carol").body(),
+                    new TaskListTypeToken().getType());
+
+            assertEquals(List.of(hobbyTask), aliceHistory, "Wrong history of session alice!");
+            assertEquals(List.of(houseTask), bobHistory, "Wrong history of session bob!");
+            assertNull(carolHistory, "History of a new session is not empty!");
+        }
+    }
+
+    @Test
+    public void testGetWithNotPositiveLimitCompletedWithCode400() throws IOException, InterruptedException {
+        Task hobbyTask = new Task("Violin", "Try to play Vivaldi", LocalDateTime.now(), duration);
+        Integer hobbyTaskID = taskManager.createTask(hobbyTask);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            get(client, "tasks/" + hobbyTaskID, "alice");
+
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, get(client, "history?limit=0", "alice").statusCode(),
+                    "Zero limit was accepted!");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, get(client, "history?limit=-1", "alice").statusCode(),
+                    "Negative limit was accepted!");
+            assertEquals(HttpTaskServer.OK_200, get(client, "history?limit=1", "alice").statusCode(),
+                    "Positive limit was rejected!");
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,92 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.SynchronizedTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import java.io.IOException;
+
+// GET /tasks requests of a growing number of concurrent clients must all succeed
+public class HttpTaskServerLoadTest {
+    private static final int TASKS_CNT = 100;
+    private static final int REQUESTS_PER_CLIENT = 100;
+    private static final int[] CLIENTS_CNT = {1, 2, 4, 8};
+    private final TaskManager taskManager;
+    private final HttpTaskServer taskServer;
+
+    public HttpTaskServerLoadTest() throws IOException {
+        taskManager = new SynchronizedTaskManager(new InMemoryTaskManager());
+        taskServer = new HttpTaskServer(taskManager);
+    }
+
+    @BeforeEach
+    public void testInit() {
+        LocalDateTime startDateTime = LocalDateTime.now();
+        Duration duration = Duration.ofMinutes(30);
+        for (int i = 0; i < TASKS_CNT; ++i) {
+            taskManager.createTask(new Task("Task" + i, "Load test", startDateTime, duration));
+            startDateTime = startDateTime.plus(duration);
+        }
+
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        taskServer.stop();
+    }
+
+    @Test
+    public void testGetTasksIsServedConcurrently() throws Exception {
+        URI uri = URI.create(HttpTaskServer.URL + "tasks");
+        HttpRequest request = HttpRequest.newBuilder().GET().uri(uri).build();
+
+        for (int clientsCnt : CLIENTS_CNT) {
+            ExecutorService clients = Executors.newFixedThreadPool(clientsCnt);
+            List<Future<Integer>> results = new ArrayList<>();
+
+            for (int client = 0; client < clientsCnt; ++client) {
+                results.add(clients.submit(() -> {
+                    int okCnt = 0;
+                    try (HttpClient httpClient = HttpClient.newHttpClient()) {
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; ++i) {
+                            HttpResponse<String> response = httpClient.send(request,
+                                    HttpResponse.BodyHandlers.ofString());
+                            if (response.statusCode() == HttpTaskServer.OK_200) {
+                                ++okCnt;
+                            }
+                        }
+                    }
+                    return okCnt;
+                }));
+            }
+
+            int okCnt = 0;
+            for (Future<Integer> result : results) {
+                okCnt += result.get(60, TimeUnit.SECONDS);
+            }
+            clients.shutdown();
+
+            assertEquals(clientsCnt * REQUESTS_PER_CLIENT, okCnt, "Some requests failed!");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+import ru.yandex.practicum.kanban.service.impl.metrics.MetricsRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HttpTaskServerMetricsEndpointTest {
+    private final HttpTaskServer taskServer;
+
+    public HttpTaskServerMetricsEndpointTest() throws IOException {
+        taskServer = new HttpTaskServer(new InMemoryTaskManager());
+    }
+
+    @BeforeEach
+    public void testInit() {
+        taskServer.start();
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        taskServer.stop();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetMetricsReturnsRequestDurations() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            get(client, "tasks");
+            get(client, "tasks");
+            get(client, "tasks/42");
+
+            HttpResponse<String> response = get(client, "metrics");
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertEquals(MetricsRegistry.PROMETHEUS_CONTENT_TYPE,
+                    response.headers().firstValue("Content-Type").orElse(null), "Wrong content type!");
+            assertTrue(response.body().contains(
+                    "http_request_duration_seconds_count{context=\"/tasks\",method=\"GET\",code=\"200\"} 2\n"),
+                    "Successful requests are not counted!");
+            assertTrue(response.body().contains(
+                    "http_request_duration_seconds_count{context=\"/tasks\",method=\"GET\",code=\"404\"} 1\n"),
+                    "Not found request is not counted!");
+        }
+    }
+
+    @Test
+    public void testPostMetricsNotCompletedWithCode405() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .uri(URI.create(HttpTaskServer.URL + "metrics"))
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(HttpTaskServer.METHOD_NOT_ALLOWED_405, response.statusCode(), "Wrong response code!");
+        }
+    }
+}
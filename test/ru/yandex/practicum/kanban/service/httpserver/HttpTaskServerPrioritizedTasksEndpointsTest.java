@@ -12,6 +12,7 @@ import ru.yandex.practicum.kanban.model.Subtask;
 import ru.yandex.practicum.kanban.model.Task;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
 import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.BaseHttpHandler;
 import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
 
 import java.io.IOException;
@@ -25,7 +26,9 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.Month;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 public class HttpTaskServerPrioritizedTasksEndpointsTest {
     private final TaskManager taskManager;
@@ -109,4 +112,89 @@ public class HttpTaskServerPrioritizedTasksEndpointsTest {
             assertEquals(HttpTaskServer.METHOD_NOT_ALLOWED_405, response.statusCode(), "Wrong response code!");
         }
     }
-}
\ No newline at end of file
+
+    private HttpResponse<String> get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .headers("Accept", "application/json")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetWithLimitReceivesPrioritizedTasksPageByPage() throws IOException, InterruptedException {
+        LocalDateTime startDateTime = LocalDateTime.now();
+        for (int i = 0; i < 5; ++i) {
+            taskManager.createTask(new Task("Task" + i, "Test Task", startDateTime.minus(duration.multipliedBy(i)),
+                    duration));
+        }
+        List<Task> receivedTasks = new ArrayList<>();
+        int pagesCnt = 0;
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            String path = "prioritized?limit=2";
+            while (path != null) {
+                HttpResponse<String> response = get(client, path);
+                assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+                List<Task> page = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+                receivedTasks.addAll(page);
+                ++pagesCnt;
+
+                Optional<String> cursor = response.headers().firstValue(BaseHttpHandler.NEXT_CURSOR_HEADER);
+                path = cursor.map(c -> "prioritized?limit=2&cursor=" + c).orElse(null);
+            }
+        }
+
+        assertEquals(3, pagesCnt, "Wrong number of pages!");
+        assertEquals(taskManager.getPrioritizedTasks(), receivedTasks, "Pages do not follow the priority!");
+    }
+
+    @Test
+    public void testGetWithInvalidCursorNotCompletedWithCode400() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "prioritized?cursor=bm90LWEtY3Vyc29y");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+
+            response = get(client, "prioritized?limit=0");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+        }
+    }
+
+    @Test
+    public void testGetWithRangeReceivesOnlyTasksRunningInRange() throws IOException, InterruptedException {
+        LocalDateTime startDateTime = LocalDateTime.of(2024, Month.JUNE, 9, 10, 0);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            Task task = new Task("Task" + i, "Test Task", startDateTime.plus(duration.multipliedBy(i)), duration);
+            taskManager.createTask(task);
+            tasks.add(task);
+        }
+        LocalDateTime from = startDateTime.plusMinutes(45);
+        LocalDateTime to = startDateTime.plus(duration.multipliedBy(3));
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "prioritized?from=" + from + "&to=" + to);
+            List<Task> tasksInRange = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertEquals(tasks.subList(1, 3), tasksInRange, "Wrong Tasks in range!");
+
+            response = get(client, "prioritized?from=" + from + "&limit=1");
+            tasksInRange = gson.fromJson(response.body(), new TaskListTypeToken().getType());
+
+            assertEquals(tasks.subList(1, 2), tasksInRange, "Range limit is ignored!");
+        }
+    }
+
+    @Test
+    public void testGetWithInvalidRangeNotCompletedWithCode400() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "prioritized?from=tomorrow");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+
+            response = get(client, "prioritized?from=2024-06-09T10:00&to=2024-06-09T09:00");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import com.google.gson.Gson;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+
+import java.io.IOException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+
+public class HttpTaskServerScheduleEndpointsTest {
+    private final TaskManager taskManager;
+    private final HttpTaskServer taskServer;
+    private final Gson gson;
+    private final Duration duration = Duration.ofMinutes(30);
+    private final LocalDateTime startDateTime = LocalDateTime.of(2024, Month.JUNE, 9, 10, 0);
+
+    public HttpTaskServerScheduleEndpointsTest() throws IOException {
+        taskManager = new InMemoryTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        gson = HttpTaskServer.getGson();
+    }
+
+    @BeforeEach
+    public void testInit() {
+        taskServer.start();
+        taskManager.createTask(new Task("Task1", "Test Task", startDateTime, duration));
+        taskManager.createTask(new Task("Task2", "Test Task", startDateTime.plus(duration), duration));
+        taskManager.createTask(new Task("Task3", "Test Task", startDateTime.plusHours(2), duration));
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        taskServer.stop();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .headers("Accept", "application/json")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetFreeSlotReceivesEarliestGapThatFits() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "schedule/free-slot?duration=PT1H&after=" + startDateTime);
+            LocalDateTime slotStartDateTime = gson.fromJson(response.body(), LocalDateTime.class);
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertEquals(startDateTime.plusHours(1), slotStartDateTime, "Wrong free slot!");
+
+            response = get(client, "schedule/free-slot?duration=PT1H1M&after=" + startDateTime);
+            slotStartDateTime = gson.fromJson(response.body(), LocalDateTime.class);
+
+            assertEquals(startDateTime.plusHours(2).plus(duration), slotStartDateTime, "Too short gap is used!");
+        }
+    }
+
+    @Test
+    public void testGetFreeSlotWithInvalidParametersNotCompletedWithCode400() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "schedule/free-slot");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+
+            response = get(client, "schedule/free-slot?duration=30");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+
+            response = get(client, "schedule/free-slot?duration=-PT1H");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+        }
+    }
+
+    @Test
+    public void testGetUnknownScheduleActionNotCompletedWithCode404() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "schedule");
+            assertEquals(HttpTaskServer.NOT_FOUND_404, response.statusCode(), "Wrong response code!");
+        }
+    }
+}
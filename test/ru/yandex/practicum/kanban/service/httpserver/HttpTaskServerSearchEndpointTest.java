@@ -0,0 +1,91 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import com.google.gson.Gson;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.service.api.TaskManager;
+import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+
+import java.io.IOException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Month;
+
+public class HttpTaskServerSearchEndpointTest {
+    private final TaskManager taskManager;
+    private final HttpTaskServer taskServer;
+    private final Gson gson;
+    private final Duration duration = Duration.ofMinutes(30);
+    private Integer task1ID;
+    private Integer task2ID;
+
+    public HttpTaskServerSearchEndpointTest() throws IOException {
+        taskManager = new InMemoryTaskManager();
+        taskServer = new HttpTaskServer(taskManager);
+        gson = HttpTaskServer.getGson();
+    }
+
+    @BeforeEach
+    public void testInit() {
+        taskServer.start();
+        LocalDateTime startDateTime = LocalDateTime.of(2024, Month.JUNE, 9, 10, 0);
+        task1ID = taskManager.createTask(new Task("Violin", "Try to play Vivaldi", startDateTime, duration));
+        task2ID = taskManager.createTask(new Task("Cleaning", "Then play violin", startDateTime.plusHours(1),
+                duration));
+    }
+
+    @AfterEach
+    public void testTerminate() {
+        taskServer.stop();
+    }
+
+    private HttpResponse<String> get(HttpClient client, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(HttpTaskServer.URL + path))
+                .headers("Accept", "application/json")
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testGetReceivesRankedIDsOfMatches() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "search?q=Play%20VIOL");
+            Integer[] ids = gson.fromJson(response.body(), Integer[].class);
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertEquals(2, ids.length, "Wrong number of matches!");
+            assertEquals(task1ID, ids[0], "Match by name is not ranked first!");
+            assertEquals(task2ID, ids[1], "Match by description is not found!");
+
+            response = get(client, "search?q=violin&limit=1");
+            ids = gson.fromJson(response.body(), Integer[].class);
+
+            assertEquals(1, ids.length, "Limit is ignored!");
+        }
+    }
+
+    @Test
+    public void testGetWithoutQueryNotCompletedWithCode400() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpResponse<String> response = get(client, "search");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+
+            response = get(client, "search?q=violin&limit=0");
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+        }
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import ru.yandex.practicum.kanban.model.Epic;
 import ru.yandex.practicum.kanban.model.Subtask;
 import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
 import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
 import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
@@ -108,6 +109,24 @@ public class HttpTaskServerSubtasksEndpointsTest {
         }
     }
 
+    @Test
+    public void testPostSubtaskAsItsOwnEpicNotCompletedWithCode400() throws IOException, InterruptedException {
+        subtask1.setId(subtask1.getEpicID());
+        String subtask1JsonToPost = gson.toJson(subtask1);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "subtasks");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.ofString(subtask1JsonToPost))
+                    .uri(uri)
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+            assertTrue(taskManager.getAllSubtasks().isEmpty(), "Subtask was registered!");
+        }
+    }
+
     @Test
     public void testGetWithRegisteredSubtaskIdReceiveSubtaskByIdFromServer() throws IOException, InterruptedException {
         Integer subtask1Id = taskManager.createSubtask(subtask1);
@@ -129,6 +148,43 @@ public class HttpTaskServerSubtasksEndpointsTest {
         }
     }
 
+    @Test
+    public void testGetWithStatusReceivesOnlySubtasksWithThisStatus() throws IOException, InterruptedException {
+        taskManager.createSubtask(subtask1);
+        subtask2.setStatus(TaskStatus.DONE);
+        taskManager.createSubtask(subtask2);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "subtasks?status=DONE");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(uri)
+                    .headers("Accept", "application/json")
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Subtask> subtasksFromServer = gson.fromJson(response.body(), new SubtaskListTypeToken().getType());
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertEquals(List.of(subtask2), subtasksFromServer, "Wrong Subtasks received from server!");
+        }
+    }
+
+    @Test
+    public void testGetWithUnknownStatusNotCompletedWithCode400() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "subtasks?status=BLOCKED");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(uri)
+                    .headers("Accept", "application/json")
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(HttpTaskServer.BAD_REQUEST_400, response.statusCode(), "Wrong response code!");
+        }
+    }
+
     @Test
     public void testGetWithUnregisteredSubtaskIdNotCompletedWithCode404() throws IOException, InterruptedException {
         try (HttpClient client = HttpClient.newHttpClient()) {
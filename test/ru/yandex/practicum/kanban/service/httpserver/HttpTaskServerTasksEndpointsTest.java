@@ -6,8 +6,10 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskTypes;
 import ru.yandex.practicum.kanban.service.api.TaskManager;
 import ru.yandex.practicum.kanban.service.impl.InMemoryTaskManager;
+import ru.yandex.practicum.kanban.service.impl.httpserver.BaseHttpHandler;
 import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
 
 import java.net.URI;
@@ -20,7 +22,9 @@ import java.time.LocalDateTime;
 
 import java.util.List;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.zip.GZIPInputStream;
 
 import com.google.gson.Gson;
 
@@ -99,6 +103,23 @@ public class HttpTaskServerTasksEndpointsTest {
         }
     }
 
+    @Test
+    public void testPostTaskWithTypeOfSubtaskAddsTask() throws IOException, InterruptedException {
+        String taskJsonToPost = gson.toJson(task1).replace("\"type\":\"TASK\"", "\"type\":\"SUBTASK\"");
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "tasks");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.ofString(taskJsonToPost))
+                    .uri(uri)
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            assertEquals(HttpTaskServer.CREATED_201, response.statusCode(), "Wrong response code!");
+            assertEquals(TaskTypes.TASK, taskManager.getAllTasks().getFirst().getType(), "Wrong type of Task!");
+        }
+    }
+
     @Test
     public void testGetWithRegisteredTaskIdReceiveTaskByIdFromServer() throws IOException, InterruptedException {
         Integer task1Id = taskManager.createTask(task1);
@@ -172,6 +193,193 @@ public class HttpTaskServerTasksEndpointsTest {
         }
     }
 
+    @Test
+    public void testGetStreamsLargeTaskListInChunks() throws IOException, InterruptedException {
+        LocalDateTime startDateTime = LocalDateTime.now();
+        for (int i = 0; i < 10_000; ++i) {
+            taskManager.createTask(new Task("Task" + i, "Test Task", startDateTime, duration));
+            startDateTime = startDateTime.plus(duration);
+        }
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "tasks");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(uri)
+                    .headers("Accept", "application/json")
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(HttpTaskServer.OK_200, response.statusCode(), "Wrong response code!");
+            assertTrue(response.headers().firstValue("Content-Length").isEmpty(), "Response is not chunked!");
+            assertEquals(gson.toJson(taskManager.getAllTasks()), response.body(), "Streamed JSON differs!");
+        }
+    }
+
+    @Test
+    public void testGetWithLimitAndCursorReceivesNextPageOfTasks() throws IOException, InterruptedException {
+        taskManager.createTask(task1);
+        taskManager.createTask(task2);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(URI.create(HttpTaskServer.URL + "tasks?limit=1"))
+                    .headers("Accept", "application/json")
+                    .build();
+            HttpResponse<String> firstResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+            String cursor = firstResponse.headers().firstValue(BaseHttpHandler.NEXT_CURSOR_HEADER).orElseThrow();
+
+            request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(URI.create(HttpTaskServer.URL + "tasks?limit=1&cursor=" + cursor))
+                    .headers("Accept", "application/json")
+                    .build();
+            HttpResponse<String> secondResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            List<Task> firstPage = gson.fromJson(firstResponse.body(), new TaskListTypeToken().getType());
+            List<Task> secondPage = gson.fromJson(secondResponse.body(), new TaskListTypeToken().getType());
+
+            assertEquals(List.of(task1), firstPage, "Wrong first page!");
+            assertEquals(List.of(task2), secondPage, "Wrong second page!");
+            assertTrue(secondResponse.headers().firstValue(BaseHttpHandler.NEXT_CURSOR_HEADER).isEmpty(),
+                    "Cursor is sent after the last page!");
+        }
+    }
+
+    @Test
+    public void testGetWithCurrentETagNotModifiedUntilTasksChange() throws IOException, InterruptedException {
+        taskManager.createTask(task1);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "tasks");
+            HttpRequest request = HttpRequest.newBuilder().GET().uri(uri).build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            String eTag = response.headers().firstValue("ETag").orElseThrow();
+
+            request = HttpRequest.newBuilder().GET().uri(uri).header("If-None-Match", eTag).build();
+            HttpResponse<String> notModifiedResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            taskManager.createTask(task2);
+            HttpResponse<String> changedResponse = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(HttpTaskServer.NOT_MODIFIED_304, notModifiedResponse.statusCode(), "Wrong response code!");
+            assertTrue(notModifiedResponse.body().isEmpty(), "Not modified response has a body!");
+            assertEquals(HttpTaskServer.OK_200, changedResponse.statusCode(), "Changed Tasks not sent!");
+            assertNotEquals(eTag, changedResponse.headers().firstValue("ETag").orElseThrow(), "ETag not changed!");
+        }
+    }
+
+    @Test
+    public void testGetWithAcceptEncodingGzipReceivesCompressedTasks() throws IOException, InterruptedException {
+        LocalDateTime startDateTime = LocalDateTime.now();
+        for (int i = 0; i < 100; ++i) {
+            taskManager.createTask(new Task("Task" + i, "Test Task", startDateTime, duration));
+            startDateTime = startDateTime.plus(duration);
+        }
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(URI.create(HttpTaskServer.URL + "tasks"))
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            String body;
+            try (GZIPInputStream iStream = new GZIPInputStream(new ByteArrayInputStream(response.body()))) {
+                body = new String(iStream.readAllBytes(), HttpTaskServer.DEFAULT_CHARSET);
+            }
+
+            assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                    "Response is not compressed!");
+            assertEquals(gson.toJson(taskManager.getAllTasks()), body, "Wrong decompressed Tasks!");
+        }
+    }
+
+    @Test
+    public void testGetTaskByIdWithAcceptEncodingGzipVariesByAcceptEncoding() throws IOException, InterruptedException {
+        Task longTask = new Task("Long Task", "Test Task ".repeat(200), LocalDateTime.now(), duration);
+        Integer longTaskID = taskManager.createTask(longTask);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .GET()
+                    .uri(URI.create(HttpTaskServer.URL + "tasks/" + longTaskID))
+                    .header("Accept-Encoding", "gzip")
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+
+            assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null),
+                    "Response is not compressed!");
+            assertEquals("Accept-Encoding", response.headers().firstValue("Vary").orElse(null),
+                    "Compressed response does not vary by Accept-Encoding!");
+        }
+    }
+
+    @Test
+    public void testPostWithAutoPlaceMovesOverlappingTaskToFreeSlot() throws IOException, InterruptedException {
+        taskManager.createTask(task1);
+        task2.setStartDateTime(task1.getStartDateTime()); // Simulate DateTime Overlap
+        String taskJsonToPost = gson.toJson(task2);
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            URI uri = URI.create(HttpTaskServer.URL + "tasks?autoPlace=true");
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.ofString(taskJsonToPost))
+                    .uri(uri)
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+
+            assertEquals(HttpTaskServer.CREATED_201, response.statusCode(), "Wrong response code!");
+            assertEquals(2, prioritizedTasks.size(), "Wrong number of registered tasks!");
+            assertEquals(task1.getEndDateTime(), prioritizedTasks.getLast().getStartDateTime(),
+                    "Task is not moved to the free slot!");
+        }
+    }
+
+    @Test
+    public void testPostBatchAddsAllTasksToServer() throws IOException, InterruptedException {
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(List.of(task1, task2))))
+                    .uri(URI.create(HttpTaskServer.URL + "tasks/batch"))
+                    .headers("Accept", "application/json")
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            Integer[] ids = gson.fromJson(response.body(), Integer[].class);
+
+            assertEquals(HttpTaskServer.CREATED_201, response.statusCode(), "Wrong response code!");
+            assertEquals(2, ids.length, "Wrong number of IDs!");
+            assertEquals(task1.getStartDateTime(), taskManager.getTaskByID(ids[0]).getStartDateTime(),
+                    "Task1 was not added!");
+            assertEquals(task2.getStartDateTime(), taskManager.getTaskByID(ids[1]).getStartDateTime(),
+                    "Task2 was not added!");
+        }
+    }
+
+    @Test
+    public void testPostBatchWithOverlapNotCompletedWithCode406() throws IOException, InterruptedException {
+        task2.setStartDateTime(task1.getStartDateTime()); // Simulate DateTime Overlap
+
+        try (HttpClient client = HttpClient.newHttpClient()) {
+            HttpRequest request = HttpRequest.newBuilder()
+                    .POST(HttpRequest.BodyPublishers.ofString(gson.toJson(List.of(task1, task2))))
+                    .uri(URI.create(HttpTaskServer.URL + "tasks/batch"))
+                    .headers("Accept", "application/json")
+                    .build();
+
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            assertEquals(HttpTaskServer.NOT_ACCEPTABLE_406, response.statusCode(), "Wrong response code!");
+            assertTrue(taskManager.getAllTasks().isEmpty(), "Tasks were added from a failed batch!");
+        }
+    }
+
     @Test
     public void testDeleteWithIdRemovesTaskByIdFromServer() throws IOException, InterruptedException {
         Integer task1Id = taskManager.createTask(task1);
@@ -0,0 +1,124 @@
+package ru.yandex.practicum.kanban.service.httpserver;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.kanban.model.Epic;
+import ru.yandex.practicum.kanban.model.Subtask;
+import ru.yandex.practicum.kanban.model.Task;
+import ru.yandex.practicum.kanban.model.TaskStatus;
+import ru.yandex.practicum.kanban.model.TaskTypes;
+import ru.yandex.practicum.kanban.service.impl.httpserver.DurationAdapter;
+import ru.yandex.practicum.kanban.service.impl.httpserver.HttpTaskServer;
+import ru.yandex.practicum.kanban.service.impl.httpserver.LocalDateTimeAdapter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskAdapterTest {
+    // The configuration used before the model types got their own adapters
+    private final Gson reflectiveGson = new GsonBuilder()
+            .serializeNulls()
+            .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter())
+            .registerTypeAdapter(Duration.class, new DurationAdapter())
+            .create();
+    private final Gson gson = HttpTaskServer.getGson();
+    private final LocalDateTime startDateTime = LocalDateTime.of(2024, 6, 9, 10, 0);
+    private final Duration duration = Duration.ofMinutes(90);
+
+    private List<Task> createTasks() {
+        Task task = new Task("Cleaning", "Wash the \"floors\"\n", startDateTime, duration);
+        task.setId(1);
+        task.setStatus(TaskStatus.DONE);
+        Task taskWithNulls = new Task(null, null, startDateTime.plusSeconds(1).plusNanos(5_000), duration);
+        taskWithNulls.setId(null);
+
+        Epic epic = new Epic("Education", "Week plan");
+        epic.setId(2);
+        epic.addSubtaskID(3);
+        epic.addSubtaskID(4);
+
+        Subtask subtask = new Subtask("Chinese", "Translate the poem", startDateTime.plusDays(1), duration);
+        subtask.setId(3);
+        subtask.setEpicID(2);
+        return List.of(task, taskWithNulls, epic, subtask);
+    }
+
+    @Test
+    public void testWriteProducesSameJsonAsReflectiveGson() {
+        List<Task> tasks = createTasks();
+
+        assertEquals(reflectiveGson.toJson(tasks), gson.toJson(tasks), "JSON of a list differs!");
+        for (Task task : tasks) {
+            assertEquals(reflectiveGson.toJson(task), gson.toJson(task), "JSON of " + task.getType() + " differs!");
+        }
+    }
+
+    @Test
+    public void testReadRestoresWrittenTasks() {
+        List<Task> tasks = createTasks();
+        Epic epic = (Epic) tasks.get(2);
+        Subtask subtask = (Subtask) tasks.get(3);
+
+        Task taskFromJson = gson.fromJson(gson.toJson(tasks.getFirst()), Task.class);
+        Epic epicFromJson = gson.fromJson(gson.toJson(epic), Epic.class);
+        Subtask subtaskFromJson = gson.fromJson(gson.toJson(subtask), Subtask.class);
+
+        assertEquals(tasks.getFirst(), taskFromJson, "Task is not restored!");
+        assertEquals(tasks.getFirst().getStatus(), taskFromJson.getStatus(), "Task status is not restored!");
+        assertEquals(tasks.getFirst().getDescription(), taskFromJson.getDescription(), "Description is not restored!");
+        assertEquals(epic.getAllSubtaskIDs(), epicFromJson.getAllSubtaskIDs(), "Subtask IDs are not restored!");
+        assertEquals(epic.getEndDateTime(), epicFromJson.getEndDateTime(), "Epic end is not restored!");
+        assertEquals(subtask, subtaskFromJson, "Subtask is not restored!");
+        assertEquals(subtask.getEpicID(), subtaskFromJson.getEpicID(), "Epic ID is not restored!");
+    }
+
+    @Test
+    public void testReadIgnoresUnknownFieldsAndKeepsDefaultsOfMissingOnes() {
+        Task task = gson.fromJson("{\"name\":\"Task\",\"unknown\":[1,{\"a\":2}]}", Task.class);
+
+        assertEquals("Task", task.getName(), "Name is not read!");
+        assertEquals(Task.INVALID_ID, task.getId(), "Missing ID is not the default one!");
+        assertEquals(TaskStatus.NEW, task.getStatus(), "Missing status is not the default one!");
+    }
+
+    @Test
+    public void testReadSubtaskWithNullIdOrOwnEpicID() {
+        Subtask subtask = gson.fromJson("{\"epicID\":2,\"id\":null}", Subtask.class);
+
+        assertNull(subtask.getId(), "Null ID is not read!");
+        assertEquals(2, (int) subtask.getEpicID(), "Epic ID is not read!");
+        assertThrows(JsonParseException.class, () -> gson.fromJson("{\"epicID\":3,\"id\":3}", Subtask.class),
+                "Subtask was read as its own Epic!");
+    }
+
+    @Test
+    public void testReadKeepsTypeOfReadClass() {
+        assertEquals(TaskTypes.TASK, gson.fromJson("{\"type\":\"SUBTASK\"}", Task.class).getType(),
+                "Task was read with type of Subtask!");
+        assertEquals(TaskTypes.SUBTASK, gson.fromJson("{\"type\":\"EPIC\"}", Subtask.class).getType(),
+                "Subtask was read with type of Epic!");
+        assertEquals(TaskTypes.EPIC, gson.fromJson("{\"type\":null}", Epic.class).getType(),
+                "Epic was read without type!");
+    }
+
+    @Test
+    public void testFormatMatchesIsoDateTimeFormatter() {
+        List<LocalDateTime> dateTimes = List.of(startDateTime,
+                LocalDateTime.of(1, 1, 1, 0, 0, 0, 100_000_000),
+                LocalDateTime.of(-45, 3, 15, 12, 30, 59, 123_456_789),
+                LocalDateTime.of(12345, 12, 31, 23, 59, 1, 1_000),
+                LocalDateTime.MIN,
+                LocalDateTime.MAX);
+
+        for (LocalDateTime dateTime : dateTimes) {
+            assertEquals(dateTime.format(DateTimeFormatter.ISO_DATE_TIME), LocalDateTimeAdapter.format(dateTime),
+                    "Wrong format of " + dateTime + "!");
+        }
+    }
+}